@@ -0,0 +1,85 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.entity.enums.PayrollStatus;
+import com.company.payroll.repository.HolidayRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Deterministic in-memory inputs shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final YearMonth PAY_MONTH = YearMonth.of(2026, 3);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Metrics recorded into a throwaway in-memory registry.
+     */
+    static PayrollMetrics metrics() {
+        return new PayrollMetrics(new SimpleMeterRegistry());
+    }
+
+    /**
+     * Calendar with no holidays; each year is built on first use and cached.
+     */
+    static BusinessCalendarService calendar() {
+        return new BusinessCalendarService(mock(HolidayRepository.class));
+    }
+
+    static Employee employee(long id) {
+        return Employee.builder()
+                .id(id)
+                .empCode(String.format("EMP%05d", id))
+                .firstName("First" + id)
+                .middleName(id % 3 == 0 ? "M" : null)
+                .lastName("Last" + id)
+                .email("emp" + id + "@technova.com")
+                .department("Engineering")
+                .designation("Software Engineer")
+                .joiningDate(LocalDate.of(2020, 1, 1).plusDays(id % 1500))
+                .active(true)
+                .build();
+    }
+
+    static SalaryStructure salary(Employee employee) {
+        long id = employee.getId();
+        return SalaryStructure.builder()
+                .employee(employee)
+                .basicSalary(BigDecimal.valueOf(30_000_00 + id * 137 % 70_000_00, 2))
+                .hra(BigDecimal.valueOf(10_000_00 + id * 71 % 20_000_00, 2))
+                .allowances(BigDecimal.valueOf(5_000_00 + id * 31 % 10_000_00, 2))
+                .pfPercentage(new BigDecimal("12.00"))
+                .taxPercentage(BigDecimal.valueOf(500 + id % 2500, 2))
+                .build();
+    }
+
+    static Payroll payroll(Employee employee) {
+        return Payroll.builder()
+                .id(employee.getId())
+                .employee(employee)
+                .payMonth(PAY_MONTH)
+                .grossSalary(new BigDecimal("85000.00"))
+                .pfAmount(new BigDecimal("10200.00"))
+                .taxAmount(new BigDecimal("8500.00"))
+                .leaveDeduction(new BigDecimal("3863.64"))
+                .totalDeductions(new BigDecimal("22563.64"))
+                .netSalary(new BigDecimal("62436.36"))
+                .workingDays(22)
+                .paidDays(21)
+                .lopDays(1)
+                .status(PayrollStatus.GENERATED)
+                .processedDate(PAY_MONTH.atEndOfMonth())
+                .build();
+    }
+}
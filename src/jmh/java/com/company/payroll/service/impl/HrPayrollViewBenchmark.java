@@ -0,0 +1,151 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.EmployeePayrollSystemApplication;
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.HrPayrollView;
+import com.company.payroll.service.PayrollService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PayrollService#getHrPayrollView} against an in-memory H2 database
+ * holding 50k employees, half of them with a generated payroll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HrPayrollViewBenchmark {
+
+    private static final int EMPLOYEES = 50_000;
+    private static final int PAGE_SIZE = 100;
+    private static final long FIRST_ID = 1_000_000L;
+    private static final int CURSORS = 256;
+
+    private ConfigurableApplicationContext context;
+    private PayrollService payrollService;
+    private String[] cursors;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EmployeePayrollSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:hrviewbench",
+                        "spring.jpa.show-sql=false",
+                        "payroll.query-budget.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        seed(context.getBean(JdbcTemplate.class));
+        payrollService = context.getBean(PayrollService.class);
+
+        cursors = new String[CURSORS];
+        for (int i = 0; i < CURSORS; i++) {
+            cursors[i] = String.valueOf(FIRST_ID + (long) i * (EMPLOYEES / CURSORS));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<HrPayrollView> firstPage() {
+        return payrollService.getHrPayrollView(
+                BenchmarkFixtures.PAY_MONTH, null, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<HrPayrollView> pageAtCursor() {
+        next = (next + 1) & (CURSORS - 1);
+        return payrollService.getHrPayrollView(
+                BenchmarkFixtures.PAY_MONTH, null, null, cursors[next], PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<HrPayrollView> notGeneratedInDepartment() {
+        next = (next + 1) & (CURSORS - 1);
+        return payrollService.getHrPayrollView(
+                BenchmarkFixtures.PAY_MONTH, "Finance", "NOT_GENERATED", cursors[next], PAGE_SIZE);
+    }
+
+    /**
+     * Every page of the month at the maximum page size.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int walkAllPages() {
+        int rows = 0;
+        String cursor = null;
+        do {
+            CursorPage<HrPayrollView> page = payrollService.getHrPayrollView(
+                    BenchmarkFixtures.PAY_MONTH, null, null, cursor, 500);
+            rows += page.content().size();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> employees = new ArrayList<>(EMPLOYEES);
+        List<Object[]> payrolls = new ArrayList<>(EMPLOYEES / 2);
+
+        for (int i = 0; i < EMPLOYEES; i++) {
+            long id = FIRST_ID + i;
+            employees.add(new Object[]{
+                    id, String.format("B%07d", i), "First" + i, null, "Last" + i,
+                    "bench" + i + "@technova.com", i % 4 == 1 ? "Finance" : "Engineering",
+                    "Software Engineer", Date.valueOf("2021-04-01"), true, now, now});
+
+            if (i % 2 == 0) {
+                payrolls.add(new Object[]{
+                        id, id, BenchmarkFixtures.PAY_MONTH.toString(),
+                        85000, 10200, 8500, 0, 18700, 66300,
+                        Date.valueOf(BenchmarkFixtures.PAY_MONTH.atEndOfMonth()),
+                        22, 22, 0, "GENERATED", now, now});
+            }
+        }
+
+        jdbc.batchUpdate("""
+                INSERT INTO employee (id, emp_code, first_name, middle_name, last_name, email,
+                    department, designation, joining_date, active, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, employees);
+
+        jdbc.batchUpdate("""
+                INSERT INTO payroll (id, employee_id, pay_month, gross_salary, pf_amount, tax_amount,
+                    leave_deduction, total_deductions, net_salary, processed_date,
+                    working_days, paid_days, lop_days, status, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, payrolls);
+    }
+}
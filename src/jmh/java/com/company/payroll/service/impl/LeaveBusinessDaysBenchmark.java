@@ -0,0 +1,63 @@
+package com.company.payroll.service.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LeaveRequestServiceImpl#calculateBusinessDays} over short and long ranges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaveBusinessDaysBenchmark {
+
+    private static final int STARTS = 256;
+
+    /**
+     * Length of the leave range in calendar days.
+     */
+    @Param({"5", "30", "365", "3650"})
+    public int rangeDays;
+
+    private LeaveRequestServiceImpl leaveService;
+    private LocalDate[] from;
+    private LocalDate[] to;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        leaveService = new LeaveRequestServiceImpl(null, null, null, BenchmarkFixtures.calendar(), null);
+
+        from = new LocalDate[STARTS];
+        to = new LocalDate[STARTS];
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < STARTS; i++) {
+            from[i] = base.plusDays(i * 3L);
+            to[i] = from[i].plusDays(rangeDays - 1L);
+        }
+
+        // Build every calendar year up front so the loop measures lookups only
+        leaveService.calculateBusinessDays(from[0], to[STARTS - 1]);
+    }
+
+    @Benchmark
+    public long businessDays() {
+        next = (next + 1) & (STARTS - 1);
+        return leaveService.calculateBusinessDays(from[next], to[next]);
+    }
+}
@@ -0,0 +1,55 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Payroll;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One payslip PDF per invocation, as served by the download endpoint:
+ * the template renderer against the full layout it falls back to and
+ * against the renderer it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaySlipBenchmark {
+
+    private PaySlipServiceImpl paySlipService;
+    private LegacyPaySlipRenderer legacyRenderer;
+    private Payroll payroll;
+
+    @Setup
+    public void setUp() {
+        paySlipService = new PaySlipServiceImpl(BenchmarkFixtures.metrics());
+        legacyRenderer = new LegacyPaySlipRenderer();
+        payroll = BenchmarkFixtures.payroll(BenchmarkFixtures.employee(42));
+    }
+
+    @Benchmark
+    public byte[] generatePayslipPdf() {
+        return paySlipService.generatePayslipPdf(payroll);
+    }
+
+    @Benchmark
+    public byte[] fullLayout() {
+        return PayslipTemplate.renderWithLayout(PaySlipServiceImpl.values(payroll));
+    }
+
+    @Benchmark
+    public byte[] legacy() {
+        return legacyRenderer.generatePayslipPdf(payroll);
+    }
+}
@@ -0,0 +1,116 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.LeaveRequest;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.LeaveType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Month-end arithmetic of {@link PayrollCalculatorService}, without the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollCalculatorBenchmark {
+
+    private static final int EMPLOYEES = 1_024;
+
+    /**
+     * Leaves per employee touching the pay month; they overlap each other.
+     */
+    @Param({"2", "50", "500"})
+    public int leaveCount;
+
+    private PayrollCalculatorService calculator;
+    private Employee[] employees;
+    private SalaryStructure[] salaries;
+    private List<LeaveRequest> leaves;
+    private int workingDays;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        calculator = new PayrollCalculatorService(null, null, null, null, BenchmarkFixtures.calendar(), null);
+
+        employees = new Employee[EMPLOYEES];
+        salaries = new SalaryStructure[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees[i] = BenchmarkFixtures.employee(i + 1);
+            salaries[i] = BenchmarkFixtures.salary(employees[i]);
+        }
+
+        LocalDate monthStart = BenchmarkFixtures.PAY_MONTH.atDay(1);
+        leaves = new ArrayList<>(leaveCount);
+        for (int i = 0; i < leaveCount; i++) {
+            // Starts up to a week before the month, runs 1-14 days
+            LocalDate from = monthStart.plusDays(i % 35 - 7);
+            leaves.add(LeaveRequest.builder()
+                    .employee(employees[0])
+                    .leaveType(LeaveType.CLSL)
+                    .fromDate(from)
+                    .toDate(from.plusDays(i % 14))
+                    .totalDays(i % 14 + 1)
+                    .status(LeaveStatus.APPROVED)
+                    .reason("benchmark")
+                    .build());
+        }
+
+        workingDays = calculator.calculateWorkingDays(BenchmarkFixtures.PAY_MONTH);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (EMPLOYEES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Payroll buildPayroll() {
+        int i = nextIndex();
+        return calculator.buildPayroll(
+                employees[i],
+                salaries[i],
+                leaves,
+                BenchmarkFixtures.PAY_MONTH,
+                workingDays);
+    }
+
+    @Benchmark
+    public Payroll fixedPointAmounts() {
+        Payroll.PayrollBuilder builder = Payroll.builder();
+        calculator.applyFixedPointAmounts(builder, salaries[nextIndex()], workingDays, 3);
+        return builder.build();
+    }
+
+    @Benchmark
+    public Payroll bigDecimalAmounts() {
+        Payroll.PayrollBuilder builder = Payroll.builder();
+        calculator.applyBigDecimalAmounts(builder, salaries[nextIndex()], workingDays, 3);
+        return builder.build();
+    }
+
+    @Benchmark
+    public int leaveDaysInMonth() {
+        return calculator.calculateLeaveDaysInMonth(leaves, BenchmarkFixtures.PAY_MONTH);
+    }
+}
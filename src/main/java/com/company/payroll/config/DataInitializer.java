@@ -1,12 +1,14 @@
 package com.company.payroll.config;
 
 import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.Holiday;
 import com.company.payroll.entity.LeaveBalance;
 import com.company.payroll.entity.LeaveRequest;
 import com.company.payroll.entity.SalaryStructure;
 import com.company.payroll.entity.enums.LeaveStatus;
 import com.company.payroll.entity.enums.LeaveType;
 import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.HolidayRepository;
 import com.company.payroll.repository.LeaveBalanceRepository;
 import com.company.payroll.repository.LeaveRequestRepository;
 import com.company.payroll.repository.SalaryStructureRepository;
@@ -26,6 +28,7 @@ public class DataInitializer implements CommandLineRunner {
     private final SalaryStructureRepository salaryStructureRepository;
     private final LeaveRequestRepository leaveRequestRepository;
     private final LeaveBalanceRepository leaveBalanceRepository;
+    private final HolidayRepository holidayRepository;
 
     @Override
     public void run(String... args) {
@@ -233,5 +236,20 @@ public class DataInitializer implements CommandLineRunner {
                                 .build()
                 )
         );
+
+        holidayRepository.saveAll(List.of(
+                holiday(LocalDate.of(2026, 1, 26), "Republic Day"),
+                holiday(LocalDate.of(2026, 3, 4), "Holi"),
+                holiday(LocalDate.of(2026, 8, 15), "Independence Day"),
+                holiday(LocalDate.of(2026, 10, 2), "Gandhi Jayanti"),
+                holiday(LocalDate.of(2026, 12, 25), "Christmas")
+        ));
+    }
+
+    private Holiday holiday(LocalDate date, String name) {
+        return Holiday.builder()
+                .holidayDate(date)
+                .name(name)
+                .build();
     }
 }
@@ -0,0 +1,23 @@
+package com.company.payroll.config;
+
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.repository.LeaveRequestRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Leave requests awaiting a decision; one COUNT query per scrape.
+     */
+    @Bean
+    public MeterBinder pendingLeaveRequestsGauge(LeaveRequestRepository leaveRequestRepository) {
+        return registry -> Gauge.builder("payroll.leave.pending", leaveRequestRepository,
+                        repository -> repository.countByStatus(LeaveStatus.PENDING))
+                .description("Leave requests in PENDING status")
+                .register(registry);
+    }
+}
@@ -1,15 +1,21 @@
 package com.company.payroll.controller;
 
+import com.company.payroll.dto.CursorPage;
 import com.company.payroll.dto.EmployeeResponseDto;
+import com.company.payroll.dto.ExportFormat;
+import com.company.payroll.dto.ImportFormat;
 import com.company.payroll.dto.OnboardingRequestDto;
 import com.company.payroll.dto.OnboardingResponseDto;
 import com.company.payroll.service.EmployeeService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/v1/employees")
@@ -32,6 +38,26 @@ public class EmployeeController {
                 .body(employeeService.onBoardNewEmployee(request));
     }
 
+    /**
+     * Bulk onboarding for large hires and acquisitions.
+     * Body is CSV with a header row of the onboarding field names (text/csv)
+     * or JSON objects, as an array or one per line (application/json,
+     * application/x-ndjson). Rows are imported while the upload is read; the
+     * NDJSON response has one line per row (CREATED with the emp code, or why
+     * it was rejected) followed by a summary line.
+     */
+    @PostMapping(value = "/import",
+            consumes = {"text/csv", "application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> importEmployees(
+            HttpServletRequest request) throws IOException {
+
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportFormat.NDJSON.contentType()))
+                .body(employeeService.importEmployees(request.getInputStream(), format));
+    }
+
     /**
      * Update an existing employee record.
      * Employee is identified using employee code.
@@ -61,14 +87,20 @@ public class EmployeeController {
     }
 
     /**
-     * Fetch all active employees.
+     * Fetch active employees, one page at a time.
      * Returns only employees who are currently active in the system.
+     * sort = createdAt / empCode, direction = asc / desc,
+     * cursor = nextCursor of the previous page.
      */
     @GetMapping
-    public ResponseEntity<List<EmployeeResponseDto>> getAllActiveEmployees() {
+    public ResponseEntity<CursorPage<EmployeeResponseDto>> getAllActiveEmployees(
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
 
         return ResponseEntity.ok(
-                employeeService.getAllActiveEmployees()
+                employeeService.getAllActiveEmployees(sort, direction, cursor, size)
         );
     }
 
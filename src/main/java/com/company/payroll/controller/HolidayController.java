@@ -0,0 +1,44 @@
+package com.company.payroll.controller;
+
+import com.company.payroll.dto.HolidayDto;
+import com.company.payroll.service.HolidayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/holidays")
+@RequiredArgsConstructor
+public class HolidayController {
+
+    private final HolidayService holidayService;
+
+    /**
+     * Public holidays of a year.
+     * Holidays are excluded from working days and leave days.
+     */
+    @GetMapping
+    public ResponseEntity<List<HolidayDto>> getHolidays(@RequestParam int year) {
+        return ResponseEntity.ok(holidayService.getHolidays(year));
+    }
+
+    /**
+     * Add a public holiday.
+     * Payrolls already generated for that month are not recalculated.
+     */
+    @PostMapping
+    public ResponseEntity<HolidayDto> addHoliday(@RequestBody HolidayDto holidayDto) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(holidayService.addHoliday(holidayDto));
+    }
+
+    @DeleteMapping("/{holidayId}")
+    public ResponseEntity<Void> deleteHoliday(@PathVariable Long holidayId) {
+        holidayService.deleteHoliday(holidayId);
+        return ResponseEntity.noContent().build();
+    }
+}
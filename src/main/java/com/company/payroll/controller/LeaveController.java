@@ -1,14 +1,21 @@
 package com.company.payroll.controller;
 
 
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.LeaveDecisionRequest;
+import com.company.payroll.dto.LeaveDecisionResponse;
+import com.company.payroll.dto.LeaveInboxFilter;
 import com.company.payroll.dto.LeaveRequestDto;
 import com.company.payroll.dto.LeaveResponseDto;
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.LeaveType;
 import com.company.payroll.service.LeaveRequestService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/leaves")
@@ -36,13 +43,55 @@ public class LeaveController {
     }
 
     /**
-     * Get leave requests
+     * HR approves or rejects many requests at once (up to 1000).
+     * Body: {"requestIds": [..], "action": "APPROVE" | "REJECT"}.
+     * Per-request outcomes; one that cannot be decided does not fail the rest.
+     */
+    @PostMapping("/decisions")
+    public ResponseEntity<LeaveDecisionResponse> decideLeaves(@RequestBody LeaveDecisionRequest decision) {
+        return ResponseEntity.ok(leaveService.decideLeaves(decision));
+    }
+
+    /**
+     * Get leave requests, newest first, one page at a time.
      * If empCode provided → employee view
-     * If empCode null → HR default (e.g. pending)
+     * If empCode and status null → HR inbox (PENDING)
+     * Optional filters: status, leaveType, from / to (overlapping dates), department.
+     * cursor = nextCursor of the previous page.
      */
     @GetMapping
-    public ResponseEntity<List<LeaveResponseDto>> getLeaveRequests(@RequestParam(required = false) String empCode) {
-        return ResponseEntity.ok(leaveService.getAllLeaveRequest(empCode));
+    public ResponseEntity<CursorPage<LeaveResponseDto>> getLeaveRequests(
+            @RequestParam(required = false) String empCode,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String leaveType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        LeaveInboxFilter filter = new LeaveInboxFilter(
+                blankToNull(empCode),
+                status == null || status.isBlank() ? null : LeaveStatus.valueOf(status.toUpperCase()),
+                leaveType == null || leaveType.isBlank() ? null : LeaveType.valueOf(leaveType.toUpperCase()),
+                from,
+                to,
+                blankToNull(department)
+        );
+
+        return ResponseEntity.ok(leaveService.getLeaveRequests(filter, cursor, size));
+    }
+
+    /**
+     * HR inbox badge: number of leave requests awaiting a decision.
+     */
+    @GetMapping("/pending/count")
+    public ResponseEntity<Long> countPendingLeaveRequests() {
+        return ResponseEntity.ok(leaveService.countPendingLeaveRequests());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
     }
 
 }
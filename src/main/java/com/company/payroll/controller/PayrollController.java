@@ -1,11 +1,20 @@
 package com.company.payroll.controller;
 
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.ExportFormat;
 import com.company.payroll.dto.HrPayrollView;
+import com.company.payroll.dto.PayrollMonthSummaryResponse;
 import com.company.payroll.dto.PayrollResponse;
+import com.company.payroll.dto.PayrollRunFailure;
+import com.company.payroll.dto.PayrollRunProgress;
+import com.company.payroll.dto.PayrollRunResponse;
+import com.company.payroll.entity.enums.PayrollStatus;
 import com.company.payroll.service.PayrollService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.YearMonth;
 import java.util.List;
@@ -19,14 +28,19 @@ public class PayrollController {
 
     /**
      * HR screen:
-     * Shows all employees for selected month.
+     * Shows employees for selected month, one page at a time.
+     * status = GENERATED / PAID / NOT_GENERATED; cursor = nextCursor of the previous page.
      */
     @GetMapping("/hr/payroll-view")
-    public List<HrPayrollView> getHrPayrollView(@RequestParam int year,
-                                                @RequestParam int month) {
+    public CursorPage<HrPayrollView> getHrPayrollView(@RequestParam int year,
+                                                      @RequestParam int month,
+                                                      @RequestParam(required = false) String department,
+                                                      @RequestParam(required = false) String status,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "100") int size) {
 
         YearMonth ym = YearMonth.of(year, month);
-        return payrollService.getHrPayrollView(ym);
+        return payrollService.getHrPayrollView(ym, department, status, cursor, size);
     }
 
     /**
@@ -53,6 +67,69 @@ public class PayrollController {
         return payrollService.generatePayroll(employeeId, ym);
     }
 
+    /**
+     * HR payroll status change, e.g. mark a generated payroll as PAID.
+     */
+    @PutMapping("/hr/payroll/{payrollId}/status")
+    public PayrollResponse updatePayrollStatus(@PathVariable Long payrollId,
+                                               @RequestParam String status) {
+        return payrollService.updatePayrollStatus(payrollId, PayrollStatus.valueOf(status.toUpperCase()));
+    }
+
+    /**
+     * HR dashboard: month totals per department and overall.
+     */
+    @GetMapping("/hr/payroll-summary")
+    public PayrollMonthSummaryResponse getPayrollSummary(@RequestParam int year,
+                                                         @RequestParam int month) {
+        return payrollService.getPayrollSummary(YearMonth.of(year, month));
+    }
+
+    /**
+     * HR reconciliation: recompute the month's summary from the payroll rows.
+     */
+    @PostMapping("/hr/payroll-summary/rebuild")
+    public PayrollMonthSummaryResponse rebuildPayrollSummary(@RequestParam int year,
+                                                             @RequestParam int month) {
+        return payrollService.rebuildPayrollSummary(YearMonth.of(year, month));
+    }
+
+    /**
+     * HR generate payroll for all active employees of the month.
+     * Returns created / skipped / failed counts.
+     * An unfinished run for the month is resumed from its checkpoint.
+     */
+    @PostMapping("/hr/payroll-run")
+    public PayrollRunResponse runPayroll(@RequestParam int year,
+                                         @RequestParam int month) {
+        YearMonth ym = YearMonth.of(year, month);
+        return payrollService.runPayroll(ym);
+    }
+
+    /**
+     * Resume an interrupted or failed payroll run from its last committed chunk.
+     */
+    @PostMapping("/hr/payroll-runs/{runId}/resume")
+    public PayrollRunResponse resumePayrollRun(@PathVariable Long runId) {
+        return payrollService.resumePayrollRun(runId);
+    }
+
+    /**
+     * Progress of a payroll run: processed / total, rate and ETA.
+     */
+    @GetMapping("/hr/payroll-runs/{runId}")
+    public PayrollRunProgress getPayrollRunProgress(@PathVariable Long runId) {
+        return payrollService.getPayrollRunProgress(runId);
+    }
+
+    /**
+     * Employees that could not be processed by a payroll run.
+     */
+    @GetMapping("/hr/payroll-runs/{runId}/errors")
+    public List<PayrollRunFailure> getPayrollRunErrors(@PathVariable Long runId) {
+        return payrollService.getPayrollRunErrors(runId);
+    }
+
     @GetMapping("/download")
     public ResponseEntity<byte[]> downloadPayroll(
             @RequestParam Long employeeId,
@@ -68,4 +145,42 @@ public class PayrollController {
                 .header("Content-Disposition", "attachment; filename=payslip.pdf")
                 .body(pdf);
     }
-}
\ No newline at end of file
+
+    /**
+     * HR download of all payslips of the month as one ZIP.
+     * The archive is streamed while PDFs are rendered.
+     */
+    @GetMapping("/hr/payslips/archive")
+    public ResponseEntity<StreamingResponseBody> downloadPayslipArchive(
+            @RequestParam int year,
+            @RequestParam int month) {
+
+        YearMonth ym = YearMonth.of(year, month);
+        StreamingResponseBody archive = payrollService.exportPayslips(ym);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header("Content-Disposition", "attachment; filename=payslips-" + ym + ".zip")
+                .body(archive);
+    }
+
+    /**
+     * Finance export: the month's payroll register with the full breakdown.
+     * format = csv (default) / ndjson. Rows are streamed, never buffered.
+     */
+    @GetMapping("/hr/payroll-register")
+    public ResponseEntity<StreamingResponseBody> exportPayrollRegister(
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        YearMonth ym = YearMonth.of(year, month);
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header("Content-Disposition",
+                        "attachment; filename=payroll-register-" + ym + "." + exportFormat.extension())
+                .body(payrollService.exportPayrollRegister(ym, exportFormat));
+    }
+}
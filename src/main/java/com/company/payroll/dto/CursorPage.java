@@ -0,0 +1,31 @@
+package com.company.payroll.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as
+ * {@code cursor} to get the following page; it is null on the last page.
+ */
+public record CursorPage<T>(
+
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+
+) {
+
+    /**
+     * Builds a page from a query that fetched up to {@code size + 1} rows;
+     * the extra row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, false);
+        }
+
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)), true);
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.payroll.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in the employee listing: the sort values of the last row
+ * of a page. Travels to clients as an opaque URL-safe string.
+ */
+public record EmployeeCursor(
+
+        LocalDateTime createdAt,
+        Long id,
+        String empCode
+
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public static EmployeeCursor of(EmployeeResponseDto row) {
+        return new EmployeeCursor(row.getCreatedAt(), row.getId(), row.getEmpCode());
+    }
+
+    public String encode() {
+        String raw = (createdAt != null ? createdAt.toString() : "")
+                + SEPARATOR + id
+                + SEPARATOR + empCode;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+     */
+    public static EmployeeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            return new EmployeeCursor(
+                    parts[0].isEmpty() ? null : LocalDateTime.parse(parts[0]),
+                    Long.valueOf(parts[1]),
+                    parts[2]
+            );
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.company.payroll.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Report line of one imported row; {@code row} counts data rows from 1,
+ * not including a CSV header.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeImportResult(
+
+        long row,
+        Outcome outcome,
+        String email,
+        String empCode,
+        String message
+
+) {
+
+    public enum Outcome {
+        CREATED,
+        INVALID,
+        DUPLICATE_EMAIL,
+        FAILED
+    }
+
+    public static EmployeeImportResult created(long row, String email, String empCode) {
+        return new EmployeeImportResult(row, Outcome.CREATED, email, empCode, null);
+    }
+
+    public static EmployeeImportResult rejected(long row, Outcome outcome, String email, String message) {
+        return new EmployeeImportResult(row, outcome, email, null, message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.payroll.dto;
+
+/**
+ * Last line of an import report. {@code complete} is false when the input
+ * could not be parsed past some row and the rest of it was not read.
+ */
+public record EmployeeImportSummary(
+
+        long rows,
+        long created,
+        long failed,
+        boolean complete
+
+) {
+}
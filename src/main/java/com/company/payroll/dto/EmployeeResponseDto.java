@@ -5,6 +5,7 @@ import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Getter
 @Builder
@@ -19,6 +20,7 @@ public class EmployeeResponseDto {
     private String firstName;
     private String middleName;
     private String lastName;
+    private LocalDateTime createdAt;
 
     //salary
     private BigDecimal basicSalary;
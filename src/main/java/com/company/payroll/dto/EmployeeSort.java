@@ -0,0 +1,27 @@
+package com.company.payroll.dto;
+
+import java.util.Arrays;
+
+/**
+ * Sort keys of the employee listing. Each one is unique (together with the
+ * id tie-breaker for createdAt), so it can drive keyset pagination.
+ */
+public enum EmployeeSort {
+
+    CREATED_AT("createdAt"),
+    EMP_CODE("empCode");
+
+    private final String param;
+
+    EmployeeSort(String param) {
+        this.param = param;
+    }
+
+    public static EmployeeSort fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(sort -> sort.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unsupported sort: " + param + " (use createdAt or empCode)"));
+    }
+}
@@ -0,0 +1,12 @@
+package com.company.payroll.dto;
+
+import java.time.LocalDate;
+
+public record HolidayDto(
+
+        Long id,
+        LocalDate date,
+        String name
+
+) {
+}
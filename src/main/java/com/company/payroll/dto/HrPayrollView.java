@@ -1,7 +1,12 @@
 package com.company.payroll.dto;
 
 
+import com.company.payroll.entity.enums.PayrollStatus;
+
 import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public record HrPayrollView(
 
@@ -16,4 +21,31 @@ public record HrPayrollView(
         BigDecimal netSalary
 
 ) {
+
+    /**
+     * JPQL projection of an employee LEFT JOIN its payroll for the month;
+     * a missing payroll arrives as a null status.
+     */
+    public HrPayrollView(Long employeeId,
+                         String firstName,
+                         String middleName,
+                         String lastName,
+                         String designation,
+                         PayrollStatus status,
+                         BigDecimal grossSalary,
+                         BigDecimal netSalary) {
+
+        this(
+                employeeId,
+                Stream.of(firstName, middleName, lastName)
+                        .filter(Objects::nonNull)
+                        .filter(s -> !s.isBlank())
+                        .collect(Collectors.joining(" ")),
+                designation,
+                status != null,
+                status != null ? status.name() : "NOT_GENERATED",
+                grossSalary,
+                netSalary
+        );
+    }
 }
@@ -0,0 +1,33 @@
+package com.company.payroll.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+public enum ImportFormat {
+
+    CSV(List.of("text/csv")),
+    JSON(List.of("application/json", "application/x-ndjson"));
+
+    private final List<String> contentTypes;
+
+    ImportFormat(List<String> contentTypes) {
+        this.contentTypes = contentTypes;
+    }
+
+    public List<String> contentTypes() {
+        return contentTypes;
+    }
+
+    /**
+     * The format of a request body; parameters such as charset are ignored.
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        String mediaType = contentType == null ? "" : contentType.split(";", 2)[0].trim();
+        return Arrays.stream(values())
+                .filter(format -> format.contentTypes.stream().anyMatch(mediaType::equalsIgnoreCase))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unsupported import content type: " + contentType
+                                + " (use text/csv, application/json or application/x-ndjson)"));
+    }
+}
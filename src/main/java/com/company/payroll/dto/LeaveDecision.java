@@ -0,0 +1,10 @@
+package com.company.payroll.dto;
+
+/**
+ * HR decision applied to pending leave requests.
+ */
+public enum LeaveDecision {
+
+    APPROVE,
+    REJECT
+}
@@ -0,0 +1,11 @@
+package com.company.payroll.dto;
+
+import java.util.List;
+
+public record LeaveDecisionRequest(
+
+        List<Long> requestIds,
+        LeaveDecision action
+
+) {
+}
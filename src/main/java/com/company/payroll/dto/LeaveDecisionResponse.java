@@ -0,0 +1,20 @@
+package com.company.payroll.dto;
+
+import java.util.List;
+
+/**
+ * Bulk decision outcome; {@code results} follow the order of the submitted ids.
+ */
+public record LeaveDecisionResponse(
+
+        int applied,
+        int failed,
+        List<LeaveDecisionResult> results
+
+) {
+
+    public static LeaveDecisionResponse of(List<LeaveDecisionResult> results) {
+        int applied = (int) results.stream().filter(LeaveDecisionResult::applied).count();
+        return new LeaveDecisionResponse(applied, results.size() - applied, results);
+    }
+}
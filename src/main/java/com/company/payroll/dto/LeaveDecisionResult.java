@@ -0,0 +1,25 @@
+package com.company.payroll.dto;
+
+/**
+ * What happened to one request of a bulk decision.
+ */
+public record LeaveDecisionResult(
+
+        Long requestId,
+        Outcome outcome,
+        String message
+
+) {
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        ALREADY_DECIDED,
+        INSUFFICIENT_BALANCE
+    }
+
+    public boolean applied() {
+        return outcome == Outcome.APPROVED || outcome == Outcome.REJECTED;
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.payroll.dto;
+
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.LeaveType;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters of the leave request listing; null means "any".
+ * {@code from}/{@code to} select leaves overlapping that date range.
+ */
+public record LeaveInboxFilter(
+
+        String empCode,
+        LeaveStatus status,
+        LeaveType leaveType,
+        LocalDate from,
+        LocalDate to,
+        String department
+
+) {
+
+    public LeaveInboxFilter withStatus(LeaveStatus status) {
+        return new LeaveInboxFilter(empCode, status, leaveType, from, to, department);
+    }
+}
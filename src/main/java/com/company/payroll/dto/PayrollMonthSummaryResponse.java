@@ -0,0 +1,12 @@
+package com.company.payroll.dto;
+
+import java.util.List;
+
+public record PayrollMonthSummaryResponse(
+
+        String payMonth,
+        PayrollSummaryRow total,
+        List<PayrollSummaryRow> departments
+
+) {
+}
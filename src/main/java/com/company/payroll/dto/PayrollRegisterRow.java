@@ -0,0 +1,89 @@
+package com.company.payroll.dto;
+
+import com.company.payroll.entity.enums.PayrollStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One line of the monthly payroll register export.
+ */
+public record PayrollRegisterRow(
+
+        Long payrollId,
+        Long employeeId,
+        String empCode,
+        String employeeName,
+        String department,
+        String designation,
+        YearMonth payMonth,
+
+        Integer workingDays,
+        Integer paidDays,
+        Integer lopDays,
+
+        BigDecimal grossSalary,
+        BigDecimal pfAmount,
+        BigDecimal taxAmount,
+        BigDecimal leaveDeduction,
+        BigDecimal totalDeductions,
+        BigDecimal netSalary,
+
+        String status,
+        LocalDate processedDate
+
+) {
+
+    /**
+     * JPQL projection; joins the name parts like {@code Employee#getFullName}.
+     */
+    public PayrollRegisterRow(Long payrollId,
+                              Long employeeId,
+                              String empCode,
+                              String firstName,
+                              String middleName,
+                              String lastName,
+                              String department,
+                              String designation,
+                              YearMonth payMonth,
+                              Integer workingDays,
+                              Integer paidDays,
+                              Integer lopDays,
+                              BigDecimal grossSalary,
+                              BigDecimal pfAmount,
+                              BigDecimal taxAmount,
+                              BigDecimal leaveDeduction,
+                              BigDecimal totalDeductions,
+                              BigDecimal netSalary,
+                              PayrollStatus status,
+                              LocalDate processedDate) {
+
+        this(
+                payrollId,
+                employeeId,
+                empCode,
+                Stream.of(firstName, middleName, lastName)
+                        .filter(Objects::nonNull)
+                        .filter(s -> !s.isBlank())
+                        .collect(Collectors.joining(" ")),
+                department,
+                designation,
+                payMonth,
+                workingDays,
+                paidDays,
+                lopDays,
+                grossSalary,
+                pfAmount,
+                taxAmount,
+                leaveDeduction,
+                totalDeductions,
+                netSalary,
+                status.name(),
+                processedDate
+        );
+    }
+}
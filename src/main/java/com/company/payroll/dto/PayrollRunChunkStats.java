@@ -0,0 +1,10 @@
+package com.company.payroll.dto;
+
+public record PayrollRunChunkStats(
+
+        Long chunksCommitted,
+        Double averageChunkMillis,
+        Long slowestChunkMillis
+
+) {
+}
@@ -0,0 +1,9 @@
+package com.company.payroll.dto;
+
+public record PayrollRunFailure(
+
+        Long employeeId,
+        String reason
+
+) {
+}
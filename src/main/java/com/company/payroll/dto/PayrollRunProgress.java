@@ -0,0 +1,30 @@
+package com.company.payroll.dto;
+
+import java.time.LocalDateTime;
+
+public record PayrollRunProgress(
+
+        Long runId,
+        String payMonth,
+        String status,
+
+        Integer totalEmployees,
+        int processedEmployees,
+        int created,
+        int skipped,
+        int failed,
+        Long checkpointEmployeeId,
+
+        long chunksCommitted,
+        Double averageChunkMillis,
+        Long slowestChunkMillis,
+
+        double employeesPerSecond,
+        Long etaSeconds,
+
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String lastError
+
+) {
+}
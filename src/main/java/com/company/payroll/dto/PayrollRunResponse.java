@@ -0,0 +1,19 @@
+package com.company.payroll.dto;
+
+import java.util.List;
+
+public record PayrollRunResponse(
+
+        Long runId,
+        String payMonth,
+        String status,
+
+        int totalEmployees,
+        int created,
+        int skipped,
+        int failed,
+
+        List<PayrollRunFailure> failures
+
+) {
+}
@@ -0,0 +1,59 @@
+package com.company.payroll.dto;
+
+import com.company.payroll.entity.PayrollMonthSummary;
+
+import java.math.BigDecimal;
+
+/**
+ * Payroll totals of one department, or of the whole month when
+ * {@code department} is null.
+ */
+public record PayrollSummaryRow(
+
+        String department,
+
+        long headcount,
+        long generatedCount,
+        long paidCount,
+
+        BigDecimal grossTotal,
+        BigDecimal pfTotal,
+        BigDecimal taxTotal,
+        BigDecimal lopTotal,
+        BigDecimal netTotal
+
+) {
+
+    public static PayrollSummaryRow from(PayrollMonthSummary summary) {
+        return new PayrollSummaryRow(
+                summary.getDepartment(),
+                summary.getGeneratedCount() + summary.getPaidCount(),
+                summary.getGeneratedCount(),
+                summary.getPaidCount(),
+                summary.getGrossTotal(),
+                summary.getPfTotal(),
+                summary.getTaxTotal(),
+                summary.getLopTotal(),
+                summary.getNetTotal()
+        );
+    }
+
+    public PayrollSummaryRow plus(PayrollSummaryRow other) {
+        return new PayrollSummaryRow(
+                null,
+                headcount + other.headcount,
+                generatedCount + other.generatedCount,
+                paidCount + other.paidCount,
+                grossTotal.add(other.grossTotal),
+                pfTotal.add(other.pfTotal),
+                taxTotal.add(other.taxTotal),
+                lopTotal.add(other.lopTotal),
+                netTotal.add(other.netTotal)
+        );
+    }
+
+    public static PayrollSummaryRow zero() {
+        return new PayrollSummaryRow(null, 0, 0, 0,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
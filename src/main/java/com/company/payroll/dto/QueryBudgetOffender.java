@@ -0,0 +1,19 @@
+package com.company.payroll.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Statement statistics of one request mapping or transaction.
+ */
+public record QueryBudgetOffender(
+
+        String scope,
+        long executions,
+        long violations,
+        int maxStatements,
+        int maxRepeats,
+        String mostRepeatedStatement,
+        LocalDateTime lastViolationAt
+
+) {
+}
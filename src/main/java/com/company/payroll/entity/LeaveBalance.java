@@ -18,7 +18,8 @@ import java.math.BigDecimal;
 public class LeaveBalance extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_balance_seq")
+    @SequenceGenerator(name = "leave_balance_seq", sequenceName = "leave_balance_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,6 +1,7 @@
 package com.company.payroll.entity;
 
 import com.company.payroll.entity.enums.PayrollStatus;
+import com.company.payroll.event.PayrollEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,6 +10,7 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 
 @Entity
+@EntityListeners(PayrollEntityListener.class)
 @Table(
         name = "payroll",
         uniqueConstraints = {
@@ -23,7 +25,8 @@ import java.time.YearMonth;
 public class Payroll extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_seq")
+    @SequenceGenerator(name = "payroll_seq", sequenceName = "payroll_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,6 +36,13 @@ public class Payroll extends BaseEntity {
     @Column(name = "pay_month", nullable = false)
     private YearMonth payMonth;
 
+    /**
+     * The employee's department when the payroll was generated; the month
+     * summary is kept per this value, not the employee's current one.
+     */
+    @Column(nullable = false, length = 50)
+    private String department;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal totalDeductions;
 
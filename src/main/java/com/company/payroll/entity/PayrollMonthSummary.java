@@ -0,0 +1,75 @@
+package com.company.payroll.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Running payroll totals of one department for one month.
+ * <p>
+ * Kept in step with {@link Payroll} by relative UPDATEs in the same
+ * transaction as each payroll insert or status change, so the dashboard
+ * reads one row per department instead of every payroll.
+ */
+@Entity
+@Table(
+        name = "payroll_month_summary",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"pay_month", "department"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollMonthSummary extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_month_summary_seq")
+    @SequenceGenerator(name = "payroll_month_summary_seq", sequenceName = "payroll_month_summary_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "pay_month", nullable = false)
+    private YearMonth payMonth;
+
+    @Column(nullable = false, length = 50)
+    private String department;
+
+    @Column(nullable = false)
+    private Long generatedCount;
+
+    @Column(nullable = false)
+    private Long paidCount;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal grossTotal;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal pfTotal;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal taxTotal;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal lopTotal;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal netTotal;
+
+    public static PayrollMonthSummary empty(YearMonth payMonth, String department) {
+        return PayrollMonthSummary.builder()
+                .payMonth(payMonth)
+                .department(department)
+                .generatedCount(0L)
+                .paidCount(0L)
+                .grossTotal(BigDecimal.ZERO)
+                .pfTotal(BigDecimal.ZERO)
+                .taxTotal(BigDecimal.ZERO)
+                .lopTotal(BigDecimal.ZERO)
+                .netTotal(BigDecimal.ZERO)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.payroll.entity;
+
+import com.company.payroll.entity.enums.PayrollRunStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * One organisation-wide payroll run job for a month.
+ * Every committed chunk bumps the counters and the checkpoint, so an
+ * interrupted run can be resumed where it stopped.
+ */
+@Entity
+@Table(name = "payroll_run")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRun extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_run_seq")
+    @SequenceGenerator(name = "payroll_run_seq", sequenceName = "payroll_run_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "pay_month", nullable = false)
+    private YearMonth payMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PayrollRunStatus status;
+
+    @Column(nullable = false)
+    private Integer chunkSize;
+
+    private Integer totalEmployees;
+
+    @Column(nullable = false)
+    private Integer processedEmployees;
+
+    @Column(nullable = false)
+    private Integer createdCount;
+
+    @Column(nullable = false)
+    private Integer skippedCount;
+
+    @Column(nullable = false)
+    private Integer failedCount;
+
+    /**
+     * Every active employee with an id up to this value has been processed.
+     */
+    private Long checkpointEmployeeId;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    /**
+     * Start of the current (or last) attempt; differs from startedAt after a resume.
+     */
+    @Column(nullable = false)
+    private LocalDateTime attemptStartedAt;
+
+    @Column(nullable = false)
+    private Integer processedAtAttemptStart;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 500)
+    private String lastError;
+}
@@ -0,0 +1,48 @@
+package com.company.payroll.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A committed chunk of a payroll run. Written in the same transaction as the
+ * chunk's payroll rows, so it doubles as the restart checkpoint.
+ */
+@Entity
+@Table(name = "payroll_run_chunk")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRunChunk extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_run_chunk_seq")
+    @SequenceGenerator(name = "payroll_run_chunk_seq", sequenceName = "payroll_run_chunk_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private PayrollRun run;
+
+    @Column(nullable = false)
+    private Long firstEmployeeId;
+
+    @Column(nullable = false)
+    private Long lastEmployeeId;
+
+    @Column(nullable = false)
+    private Integer employeeCount;
+
+    @Column(nullable = false)
+    private Integer createdCount;
+
+    @Column(nullable = false)
+    private Integer skippedCount;
+
+    @Column(nullable = false)
+    private Integer failedCount;
+
+    @Column(nullable = false)
+    private Long durationMillis;
+}
@@ -0,0 +1,29 @@
+package com.company.payroll.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "payroll_run_error")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRunError extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_run_error_seq")
+    @SequenceGenerator(name = "payroll_run_error_seq", sequenceName = "payroll_run_error_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private PayrollRun run;
+
+    @Column(nullable = false)
+    private Long employeeId;
+
+    @Column(length = 500)
+    private String reason;
+}
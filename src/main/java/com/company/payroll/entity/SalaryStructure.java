@@ -14,7 +14,8 @@ import java.math.BigDecimal;
 @Table(name = "salary_structure")
 public class SalaryStructure extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "salary_structure_seq")
+    @SequenceGenerator(name = "salary_structure_seq", sequenceName = "salary_structure_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
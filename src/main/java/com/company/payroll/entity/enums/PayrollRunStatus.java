@@ -0,0 +1,7 @@
+package com.company.payroll.entity.enums;
+
+public enum PayrollRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
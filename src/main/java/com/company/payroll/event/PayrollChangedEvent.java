@@ -0,0 +1,24 @@
+package com.company.payroll.event;
+
+import java.time.YearMonth;
+
+/**
+ * Published whenever a payroll row is inserted, updated or deleted.
+ * Listeners that keep derived state (caches, summaries) should react
+ * after commit only.
+ */
+public record PayrollChangedEvent(
+
+        Long payrollId,
+        Long employeeId,
+        YearMonth payMonth,
+        Type type
+
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
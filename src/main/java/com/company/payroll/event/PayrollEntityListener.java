@@ -0,0 +1,45 @@
+package com.company.payroll.event;
+
+import com.company.payroll.entity.Payroll;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA callbacks for {@link Payroll}, turned into {@link PayrollChangedEvent}s.
+ * Hibernate obtains this listener from the Spring context, so it can use
+ * the application event publisher.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayrollEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    public void created(Payroll payroll) {
+        publish(payroll, PayrollChangedEvent.Type.CREATED);
+    }
+
+    @PostUpdate
+    public void updated(Payroll payroll) {
+        publish(payroll, PayrollChangedEvent.Type.UPDATED);
+    }
+
+    @PostRemove
+    public void deleted(Payroll payroll) {
+        publish(payroll, PayrollChangedEvent.Type.DELETED);
+    }
+
+    private void publish(Payroll payroll, PayrollChangedEvent.Type type) {
+        publisher.publishEvent(new PayrollChangedEvent(
+                payroll.getId(),
+                payroll.getEmployee() != null ? payroll.getEmployee().getId() : null,
+                payroll.getPayMonth(),
+                type
+        ));
+    }
+}
@@ -129,6 +129,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    /* ===================== Payroll Run ===================== */
+    @ExceptionHandler(PayrollRunNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handlePayrollRunNotFound(
+            PayrollRunNotFoundException ex,
+            HttpServletRequest request) {
+
+        log.info("Payroll run not found at URI: {} - {}",
+                request.getRequestURI(), ex.getMessage());
+
+        ApiErrorResponse response = ApiErrorResponse.builder()
+                .status(HttpStatus.NOT_FOUND.value())
+                .error("PAYROLL_RUN_NOT_FOUND")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
     /* ===================== Fallback / Unknown ===================== */
 
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,7 @@
+package com.company.payroll.exception;
+
+public class PayrollRunNotFoundException extends RuntimeException {
+    public PayrollRunNotFoundException(String message) {
+        super(message);
+    }
+}
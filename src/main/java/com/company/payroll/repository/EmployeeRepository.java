@@ -1,20 +1,38 @@
 package com.company.payroll.repository;
 
 import com.company.payroll.entity.Employee;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
 
     Optional<Employee> findByEmpCode(String empCode);
 
     Optional<Employee> findByEmail(String email);
 
+    /**
+     * Row-locks the employee; serialises leave submissions per employee.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.empCode = :empCode")
+    Optional<Employee> findByEmpCodeForUpdate(String empCode);
+
     boolean existsByEmpCode(String empCode);
 
     boolean existsByEmail(String email);
 
-    List<Employee> findByActiveTrueOrderByCreatedAtDesc();
+    /**
+     * Which of {@code emails} are already taken; one probe of the unique
+     * email index per import chunk instead of one per row.
+     */
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    List<Employee> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long id);
 }
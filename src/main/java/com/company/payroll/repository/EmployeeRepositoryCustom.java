@@ -0,0 +1,19 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.dto.EmployeeCursor;
+import com.company.payroll.dto.EmployeeResponseDto;
+import com.company.payroll.dto.EmployeeSort;
+
+import java.util.List;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Active employees with their salary columns in one query, ordered by
+     * {@code sort} and starting after {@code after} (null = first page).
+     */
+    List<EmployeeResponseDto> findActiveWithSalary(EmployeeSort sort,
+                                                   boolean descending,
+                                                   EmployeeCursor after,
+                                                   int limit);
+}
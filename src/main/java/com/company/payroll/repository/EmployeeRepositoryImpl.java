@@ -0,0 +1,101 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.dto.EmployeeCursor;
+import com.company.payroll.dto.EmployeeResponseDto;
+import com.company.payroll.dto.EmployeeSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset queries need a different WHERE and ORDER BY per sort key and
+ * direction, so the JPQL is assembled here rather than declared.
+ */
+class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    private static final String SELECT = """
+            SELECT e.id AS id, e.empCode AS empCode, e.email AS email,
+                   e.firstName AS firstName, e.middleName AS middleName, e.lastName AS lastName,
+                   e.department AS department, e.designation AS designation,
+                   e.joiningDate AS joiningDate, e.createdAt AS createdAt,
+                   s.basicSalary AS basicSalary, s.hra AS hra, s.allowances AS allowances,
+                   s.taxPercentage AS taxPercentage, s.pfPercentage AS pfPercentage
+            FROM Employee e
+            LEFT JOIN SalaryStructure s ON s.employee = e
+            WHERE e.active = true
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmployeeResponseDto> findActiveWithSalary(EmployeeSort sort,
+                                                          boolean descending,
+                                                          EmployeeCursor after,
+                                                          int limit) {
+
+        String op = descending ? "<" : ">";
+        String dir = descending ? " DESC" : " ASC";
+
+        StringBuilder jpql = new StringBuilder(SELECT);
+
+        if (after != null) {
+            jpql.append(switch (sort) {
+                case CREATED_AT -> " AND (e.createdAt " + op + " :createdAt"
+                        + " OR (e.createdAt = :createdAt AND e.id " + op + " :id))";
+                case EMP_CODE -> " AND e.empCode " + op + " :empCode";
+            });
+        }
+
+        jpql.append(switch (sort) {
+            case CREATED_AT -> " ORDER BY e.createdAt" + dir + ", e.id" + dir;
+            case EMP_CODE -> " ORDER BY e.empCode" + dir;
+        });
+
+        TypedQuery<Tuple> query = entityManager
+                .createQuery(jpql.toString(), Tuple.class)
+                .setMaxResults(limit);
+
+        if (after != null) {
+            switch (sort) {
+                case CREATED_AT -> query
+                        .setParameter("createdAt", after.createdAt())
+                        .setParameter("id", after.id());
+                case EMP_CODE -> query.setParameter("empCode", after.empCode());
+            }
+        }
+
+        return query.getResultList().stream()
+                .map(EmployeeRepositoryImpl::toDto)
+                .toList();
+    }
+
+    private static EmployeeResponseDto toDto(Tuple row) {
+        return EmployeeResponseDto.builder()
+                .id(row.get("id", Long.class))
+                .empCode(row.get("empCode", String.class))
+                .email(row.get("email", String.class))
+                .firstName(row.get("firstName", String.class))
+                .middleName(row.get("middleName", String.class))
+                .lastName(row.get("lastName", String.class))
+                .department(row.get("department", String.class))
+                .designation(row.get("designation", String.class))
+                .joiningDate(row.get("joiningDate", LocalDate.class))
+                .createdAt(row.get("createdAt", LocalDateTime.class))
+
+                // Salary (null when no structure exists)
+                .basicSalary(row.get("basicSalary", BigDecimal.class))
+                .hra(row.get("hra", BigDecimal.class))
+                .allowances(row.get("allowances", BigDecimal.class))
+                .taxPercentage(row.get("taxPercentage", BigDecimal.class))
+                .pfPercentage(row.get("pfPercentage", BigDecimal.class))
+
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    List<Holiday> findByHolidayDateBetweenOrderByHolidayDateAsc(LocalDate from, LocalDate to);
+
+    boolean existsByHolidayDate(LocalDate holidayDate);
+}
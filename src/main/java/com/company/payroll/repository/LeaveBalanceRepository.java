@@ -2,9 +2,16 @@ package com.company.payroll.repository;
 
 import com.company.payroll.entity.Employee;
 import com.company.payroll.entity.LeaveBalance;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,48 @@ public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long
     Optional<LeaveBalance> findByEmployee(Employee emp);
 
     Optional<LeaveBalance> findByEmployeeAndLeaveYear(Employee employee, int year);
+
+    /**
+     * Balances of these employees for these years, locked until commit, in
+     * id order. Rows held this way may be changed through the entities: the
+     * conditional UPDATEs below wait for the lock and then see the result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT b FROM LeaveBalance b
+            WHERE b.employee.id IN :employeeIds
+              AND b.leaveYear IN :years
+            ORDER BY b.id
+            """)
+    List<LeaveBalance> lockByEmployeesAndYears(Collection<Long> employeeIds, Collection<Integer> years);
+
+    /*
+     * Otherwise used days only change through these UPDATEs. The addition
+     * and the remaining-balance check run on the current row under its
+     * write lock, so concurrent approvals queue on that one row instead of
+     * overwriting each other's read-modify-write. 0 rows: not enough
+     * balance (or no balance row for that year).
+     */
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE LeaveBalance b
+            SET b.usedPto = b.usedPto + :days,
+                b.updatedAt = CURRENT_TIMESTAMP
+            WHERE b.employee.id = :employeeId
+              AND b.leaveYear = :year
+              AND b.totalPto - b.usedPto >= :days
+            """)
+    int consumePto(Long employeeId, int year, BigDecimal days);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE LeaveBalance b
+            SET b.usedClSl = b.usedClSl + :days,
+                b.updatedAt = CURRENT_TIMESTAMP
+            WHERE b.employee.id = :employeeId
+              AND b.leaveYear = :year
+              AND b.totalClSl - b.usedClSl >= :days
+            """)
+    int consumeClSl(Long employeeId, int year, BigDecimal days);
 }
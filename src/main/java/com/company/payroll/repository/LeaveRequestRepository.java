@@ -3,13 +3,18 @@ package com.company.payroll.repository;
 import com.company.payroll.entity.Employee;
 import com.company.payroll.entity.LeaveRequest;
 import com.company.payroll.entity.enums.LeaveStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long>, LeaveRequestRepositoryCustom {
 
     List<LeaveRequest> findByEmployee(Employee employee);
 
@@ -17,26 +22,51 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
 
     List<LeaveRequest> findByStatus(LeaveStatus status);
 
+    long countByStatus(LeaveStatus status);
+
+    /**
+     * Moves the request from {@code from} to {@code to}; 0 rows when it is no
+     * longer in {@code from}, so of two concurrent decisions only one applies.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE LeaveRequest l
+            SET l.status = :to,
+                l.updatedAt = CURRENT_TIMESTAMP
+            WHERE l.id = :requestId
+              AND l.status = :from
+            """)
+    int transition(Long requestId, LeaveStatus from, LeaveStatus to);
+
+    /**
+     * The requests with these ids, locked until commit, in id order so
+     * concurrent bulk decisions acquire the row locks in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM LeaveRequest l WHERE l.id IN :ids ORDER BY l.id")
+    List<LeaveRequest> lockAllById(Collection<Long> ids);
+
+    /**
+     * The employee's latest-starting leave in {@code status} that overlaps
+     * [from, to]. The index (employee_id, status, from_date, to_date) bounds
+     * the read to the employee's leaves in that status starting on or before
+     * {@code to}; to_date cannot narrow it further and is checked per entry
+     * from the index. The read walks back from {@code to} and stops at the
+     * first match, so a miss costs every one of those leaves, not one seek.
+     */
+    Optional<LeaveRequest> findFirstByEmployeeAndStatusAndFromDateLessThanEqualAndToDateGreaterThanEqualOrderByFromDateDesc(
+            Employee employee,
+            LeaveStatus status,
+            LocalDate to,
+            LocalDate from
+    );
+
     List<LeaveRequest> findByEmployeeAndFromDateBetween(
             Employee employee,
             LocalDate startDate,
             LocalDate endDate
     );
 
-    @Query("""
-                SELECT l FROM LeaveRequest l
-                WHERE l.employee.id = :employeeId
-                  AND l.status = :status
-                  AND FUNCTION('MONTH', l.fromDate) = :month
-                  AND FUNCTION('YEAR', l.fromDate) = :year
-            """)
-    List<LeaveRequest> findApprovedLeavesForEmployee(
-            Long employeeId,
-            int month,
-            int year,
-            LeaveStatus status
-    );
-
     @Query("""
        SELECT l FROM LeaveRequest l
        WHERE l.employee.id = :employeeId
@@ -50,5 +80,16 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
             LocalDate monthStart,
             LocalDate monthEnd
     );
-    List<LeaveRequest> findByEmployeeEmpCode(String empCode);
+
+    @Query("""
+       SELECT l FROM LeaveRequest l
+       WHERE l.status = :status
+       AND l.fromDate <= :monthEnd
+       AND l.toDate >= :monthStart
+       """)
+    List<LeaveRequest> findAllLeavesForPayrollMonth(
+            LeaveStatus status,
+            LocalDate monthStart,
+            LocalDate monthEnd
+    );
 }
@@ -0,0 +1,15 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.dto.LeaveInboxFilter;
+import com.company.payroll.dto.LeaveResponseDto;
+
+import java.util.List;
+
+public interface LeaveRequestRepositoryCustom {
+
+    /**
+     * Leave requests matching {@code filter} with their employee columns in
+     * one query, newest first, starting below {@code beforeId} (null = first page).
+     */
+    List<LeaveResponseDto> findInbox(LeaveInboxFilter filter, Long beforeId, int limit);
+}
@@ -0,0 +1,99 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.dto.LeaveInboxFilter;
+import com.company.payroll.dto.LeaveResponseDto;
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.LeaveType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Only the filters actually given end up in the WHERE clause, so the
+ * database can use the (status, id) / (employee_id, id) indexes instead of
+ * evaluating "param IS NULL OR ..." for every row of the history.
+ */
+class LeaveRequestRepositoryImpl implements LeaveRequestRepositoryCustom {
+
+    private static final String SELECT = """
+            SELECT l.id AS id, e.empCode AS empCode,
+                   e.firstName AS firstName, e.middleName AS middleName, e.lastName AS lastName,
+                   l.leaveType AS leaveType, l.fromDate AS fromDate, l.toDate AS toDate,
+                   l.totalDays AS totalDays, l.status AS status
+            FROM LeaveRequest l
+            JOIN l.employee e
+            WHERE 1 = 1
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LeaveResponseDto> findInbox(LeaveInboxFilter filter, Long beforeId, int limit) {
+
+        StringBuilder jpql = new StringBuilder(SELECT);
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (filter.empCode() != null) {
+            jpql.append(" AND e.empCode = :empCode");
+            params.put("empCode", filter.empCode());
+        }
+        if (filter.status() != null) {
+            jpql.append(" AND l.status = :status");
+            params.put("status", filter.status());
+        }
+        if (filter.leaveType() != null) {
+            jpql.append(" AND l.leaveType = :leaveType");
+            params.put("leaveType", filter.leaveType());
+        }
+        if (filter.from() != null) {
+            jpql.append(" AND l.toDate >= :from");
+            params.put("from", filter.from());
+        }
+        if (filter.to() != null) {
+            jpql.append(" AND l.fromDate <= :to");
+            params.put("to", filter.to());
+        }
+        if (filter.department() != null) {
+            jpql.append(" AND e.department = :department");
+            params.put("department", filter.department());
+        }
+        if (beforeId != null) {
+            jpql.append(" AND l.id < :beforeId");
+            params.put("beforeId", beforeId);
+        }
+
+        jpql.append(" ORDER BY l.id DESC");
+
+        TypedQuery<Tuple> query = entityManager
+                .createQuery(jpql.toString(), Tuple.class)
+                .setMaxResults(limit);
+
+        params.forEach(query::setParameter);
+
+        return query.getResultList().stream()
+                .map(LeaveRequestRepositoryImpl::toDto)
+                .toList();
+    }
+
+    private static LeaveResponseDto toDto(Tuple row) {
+        return LeaveResponseDto.builder()
+                .id(row.get("id", Long.class))
+                .empCode(row.get("empCode", String.class))
+                .firstName(row.get("firstName", String.class))
+                .middleName(row.get("middleName", String.class))
+                .lastName(row.get("lastName", String.class))
+                .leaveType(row.get("leaveType", LeaveType.class))
+                .fromDate(row.get("fromDate", LocalDate.class))
+                .toDate(row.get("toDate", LocalDate.class))
+                .totalDays(row.get("totalDays", Integer.class))
+                .status(row.get("status", LeaveStatus.class))
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.PayrollMonthSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface PayrollMonthSummaryRepository extends JpaRepository<PayrollMonthSummary, Long> {
+
+    List<PayrollMonthSummary> findByPayMonthOrderByDepartment(YearMonth payMonth);
+
+    /**
+     * The month's rows, locked so concurrent increments wait for a rebuild.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PayrollMonthSummary s WHERE s.payMonth = :payMonth")
+    List<PayrollMonthSummary> lockByPayMonth(YearMonth payMonth);
+
+    /**
+     * Adds the deltas to the row in place; returns 0 when the row does not
+     * exist yet. Pending payroll inserts are flushed first, so a rejected
+     * payroll fails the transaction before it is counted.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE PayrollMonthSummary s
+            SET s.generatedCount = s.generatedCount + :generated,
+                s.paidCount = s.paidCount + :paid,
+                s.grossTotal = s.grossTotal + :gross,
+                s.pfTotal = s.pfTotal + :pf,
+                s.taxTotal = s.taxTotal + :tax,
+                s.lopTotal = s.lopTotal + :lop,
+                s.netTotal = s.netTotal + :net,
+                s.updatedAt = CURRENT_TIMESTAMP
+            WHERE s.payMonth = :payMonth
+              AND s.department = :department
+            """)
+    int increment(YearMonth payMonth,
+                  String department,
+                  long generated,
+                  long paid,
+                  BigDecimal gross,
+                  BigDecimal pf,
+                  BigDecimal tax,
+                  BigDecimal lop,
+                  BigDecimal net);
+}
@@ -1,14 +1,26 @@
 package com.company.payroll.repository;
 
+import com.company.payroll.dto.HrPayrollView;
+import com.company.payroll.dto.PayrollRegisterRow;
 import com.company.payroll.dto.PayrollResponse;
+import com.company.payroll.dto.PayrollSummaryRow;
 import com.company.payroll.entity.Employee;
 import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.enums.PayrollStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.YearMonth;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface PayrollRepository extends JpaRepository<Payroll, Long> {
 
@@ -18,7 +30,107 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
 
     boolean existsByEmployeeAndPayMonth(Employee employee, YearMonth payMonth);
 
+    /**
+     * Seek on the (employee_id, pay_month) unique index, without a join to employee.
+     */
+    @Query("SELECT p FROM Payroll p WHERE p.employee.id = :employeeId AND p.payMonth = :payMonth")
     Optional<Payroll> findByEmployeeIdAndPayMonth(Long employeeId, YearMonth payMonth);
 
     List<Payroll> findByPayMonth(YearMonth payMonth);
+
+    /**
+     * Month totals per department computed from the payroll rows themselves;
+     * used to rebuild {@code payroll_month_summary}.
+     */
+    @Query("""
+            SELECT new com.company.payroll.dto.PayrollSummaryRow(
+                p.department,
+                COUNT(p),
+                SUM(CASE WHEN p.status = com.company.payroll.entity.enums.PayrollStatus.GENERATED THEN 1L ELSE 0L END),
+                SUM(CASE WHEN p.status = com.company.payroll.entity.enums.PayrollStatus.PAID THEN 1L ELSE 0L END),
+                SUM(p.grossSalary), SUM(p.pfAmount), SUM(p.taxAmount),
+                SUM(p.leaveDeduction), SUM(p.netSalary))
+            FROM Payroll p
+            WHERE p.payMonth = :payMonth
+            GROUP BY p.department
+            """)
+    List<PayrollSummaryRow> summarizeByDepartment(YearMonth payMonth);
+
+    /**
+     * Employee payroll lookup with the employee loaded in the same query.
+     */
+    @Query("""
+            SELECT p FROM Payroll p
+            JOIN FETCH p.employee
+            WHERE p.employee.id = :employeeId
+              AND p.payMonth = :payMonth
+            """)
+    Optional<Payroll> findWithEmployee(Long employeeId, YearMonth payMonth);
+
+    @Query("SELECT p.employee.id FROM Payroll p WHERE p.payMonth = :payMonth")
+    Set<Long> findEmployeeIdsByPayMonth(YearMonth payMonth);
+
+    long countByPayMonthAndStatusIn(YearMonth payMonth, Collection<PayrollStatus> statuses);
+
+    /**
+     * Keyset page of a month's payrolls with the employee already loaded,
+     * so the rows can be used after the query's transaction has ended.
+     */
+    @Query("""
+            SELECT p FROM Payroll p
+            JOIN FETCH p.employee
+            WHERE p.payMonth = :payMonth
+              AND p.status IN :statuses
+              AND p.id > :afterId
+            ORDER BY p.id
+            """)
+    List<Payroll> findPageWithEmployee(YearMonth payMonth,
+                                       Collection<PayrollStatus> statuses,
+                                       Long afterId,
+                                       Limit limit);
+
+    /**
+     * HR view rows for employees after {@code afterId}, in id order, with
+     * the month's payroll columns when one exists. Null filters are ignored.
+     */
+    @Query("""
+            SELECT new com.company.payroll.dto.HrPayrollView(
+                e.id, e.firstName, e.middleName, e.lastName, e.designation,
+                p.status, p.grossSalary, p.netSalary)
+            FROM Employee e
+            LEFT JOIN Payroll p ON p.employee = e AND p.payMonth = :payMonth
+            WHERE e.id > :afterId
+              AND (:department IS NULL OR e.department = :department)
+              AND (:status IS NULL OR p.status = :status)
+              AND (:notGenerated = false OR p.id IS NULL)
+            ORDER BY e.id
+            """)
+    List<HrPayrollView> findHrPayrollView(YearMonth payMonth,
+                                          Long afterId,
+                                          String department,
+                                          PayrollStatus status,
+                                          boolean notGenerated,
+                                          Limit limit);
+
+    /**
+     * Month's payroll register as unmanaged rows, fetched from the driver
+     * in batches. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.company.payroll.dto.PayrollRegisterRow(
+                p.id, e.id, e.empCode, e.firstName, e.middleName, e.lastName,
+                e.department, e.designation, p.payMonth,
+                p.workingDays, p.paidDays, p.lopDays,
+                p.grossSalary, p.pfAmount, p.taxAmount, p.leaveDeduction,
+                p.totalDeductions, p.netSalary, p.status, p.processedDate)
+            FROM Payroll p
+            JOIN p.employee e
+            WHERE p.payMonth = :payMonth
+            ORDER BY e.id
+            """)
+    Stream<PayrollRegisterRow> streamRegister(YearMonth payMonth);
 }
@@ -0,0 +1,26 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.dto.PayrollRunChunkStats;
+import com.company.payroll.entity.PayrollRunChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface PayrollRunChunkRepository extends JpaRepository<PayrollRunChunk, Long> {
+
+    @Query("""
+            SELECT c FROM PayrollRunChunk c
+            WHERE c.run.id = :runId
+              AND c.lastEmployeeId > :employeeId
+            """)
+    List<PayrollRunChunk> findByRunIdAndLastEmployeeIdGreaterThan(Long runId, Long employeeId);
+
+    @Query("""
+            SELECT new com.company.payroll.dto.PayrollRunChunkStats(
+                COUNT(c), AVG(c.durationMillis), MAX(c.durationMillis))
+            FROM PayrollRunChunk c
+            WHERE c.run.id = :runId
+            """)
+    PayrollRunChunkStats findStatsByRunId(Long runId);
+}
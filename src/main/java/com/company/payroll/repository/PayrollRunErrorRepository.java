@@ -0,0 +1,13 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.PayrollRunError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface PayrollRunErrorRepository extends JpaRepository<PayrollRunError, Long> {
+
+    @Query("SELECT e FROM PayrollRunError e WHERE e.run.id = :runId ORDER BY e.id")
+    List<PayrollRunError> findByRunIdOrderByIdAsc(Long runId);
+}
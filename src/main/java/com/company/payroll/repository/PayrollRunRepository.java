@@ -0,0 +1,76 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.PayrollRun;
+import com.company.payroll.entity.enums.PayrollRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+    Optional<PayrollRun> findFirstByPayMonthAndStatusInOrderByIdDesc(
+            YearMonth payMonth,
+            Collection<PayrollRunStatus> statuses
+    );
+
+    /*
+     * Run state is only ever changed through these UPDATEs: chunks commit in
+     * parallel, and a run entity cached in an open session must never be
+     * flushed back over counters written by another thread.
+     */
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE PayrollRun r
+            SET r.status = com.company.payroll.entity.enums.PayrollRunStatus.RUNNING,
+                r.attemptStartedAt = :now,
+                r.processedAtAttemptStart = r.processedEmployees,
+                r.finishedAt = NULL,
+                r.lastError = NULL
+            WHERE r.id = :runId
+            """)
+    int beginAttempt(Long runId, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE PayrollRun r
+            SET r.totalEmployees = :total
+            WHERE r.id = :runId AND r.totalEmployees IS NULL
+            """)
+    int initTotalEmployees(Long runId, int total);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE PayrollRun r
+            SET r.status = :status,
+                r.finishedAt = :finishedAt,
+                r.lastError = :lastError
+            WHERE r.id = :runId
+            """)
+    int finish(Long runId, PayrollRunStatus status, LocalDateTime finishedAt, String lastError);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE PayrollRun r
+            SET r.processedEmployees = r.processedEmployees + :processed,
+                r.createdCount = r.createdCount + :created,
+                r.skippedCount = r.skippedCount + :skipped,
+                r.failedCount = r.failedCount + :failed
+            WHERE r.id = :runId
+            """)
+    int incrementCounters(Long runId, int processed, int created, int skipped, int failed);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE PayrollRun r
+            SET r.checkpointEmployeeId = :employeeId
+            WHERE r.id = :runId
+              AND (r.checkpointEmployeeId IS NULL OR r.checkpointEmployeeId < :employeeId)
+            """)
+    int advanceCheckpoint(Long runId, Long employeeId);
+}
@@ -3,7 +3,9 @@ package com.company.payroll.repository;
 import com.company.payroll.entity.Employee;
 import com.company.payroll.entity.SalaryStructure;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface SalaryStructureRepository extends JpaRepository<SalaryStructure, Long> {
@@ -12,5 +14,16 @@ public interface SalaryStructureRepository extends JpaRepository<SalaryStructure
 
     boolean existsByEmployee(Employee employee);
 
+    /**
+     * Compares the employee_id column directly; the derived query joined
+     * employee and filtered on the joined id, which H2 ran as a table scan.
+     */
+    @Query("SELECT s FROM SalaryStructure s WHERE s.employee.id = :employeeId")
     Optional<SalaryStructure> findByEmployeeId(Long employeeId);
+
+    @Query("""
+            SELECT s FROM SalaryStructure s
+            WHERE s.employee.active = true
+            """)
+    List<SalaryStructure> findAllForActiveEmployees();
 }
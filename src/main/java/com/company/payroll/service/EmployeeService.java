@@ -1,16 +1,21 @@
 package com.company.payroll.service;
 
+import com.company.payroll.dto.CursorPage;
 import com.company.payroll.dto.EmployeeResponseDto;
+import com.company.payroll.dto.ImportFormat;
 import com.company.payroll.dto.OnboardingRequestDto;
 import com.company.payroll.dto.OnboardingResponseDto;
 import com.company.payroll.entity.Employee;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface EmployeeService {
     OnboardingResponseDto onBoardNewEmployee(OnboardingRequestDto onboardingRequestDto);
     OnboardingResponseDto updateEmployeeRecord(String empCode,OnboardingRequestDto onboardingRequestDto);
     void deleteEmployeeRecord(String empCode);
-    List<EmployeeResponseDto> getAllActiveEmployees();
+    CursorPage<EmployeeResponseDto> getAllActiveEmployees(String sort, String direction, String cursor, int size);
     EmployeeResponseDto getActiveEmployeeByEmpCode(String empCode);
+    StreamingResponseBody importEmployees(InputStream body, ImportFormat format);
 }
@@ -0,0 +1,13 @@
+package com.company.payroll.service;
+
+import com.company.payroll.dto.HolidayDto;
+
+import java.util.List;
+
+public interface HolidayService {
+    List<HolidayDto> getHolidays(int year);
+
+    HolidayDto addHoliday(HolidayDto holidayDto);
+
+    void deleteHoliday(Long holidayId);
+}
@@ -1,15 +1,20 @@
 package com.company.payroll.service;
 
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.LeaveDecisionRequest;
+import com.company.payroll.dto.LeaveDecisionResponse;
+import com.company.payroll.dto.LeaveInboxFilter;
 import com.company.payroll.dto.LeaveRequestDto;
 import com.company.payroll.dto.LeaveResponseDto;
-import com.company.payroll.entity.LeaveRequest;
-
-import java.util.List;
 
 public interface LeaveRequestService {
     LeaveResponseDto applyLeave(LeaveRequestDto leaveRequestDto);
 
     void approveLeave(Long requestId);
 
-    List<LeaveResponseDto> getAllLeaveRequest(String empCode);
+    LeaveDecisionResponse decideLeaves(LeaveDecisionRequest decision);
+
+    CursorPage<LeaveResponseDto> getLeaveRequests(LeaveInboxFilter filter, String cursor, int size);
+
+    long countPendingLeaveRequests();
 }
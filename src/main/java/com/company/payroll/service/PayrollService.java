@@ -1,18 +1,48 @@
 package com.company.payroll.service;
 
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.ExportFormat;
 import com.company.payroll.dto.HrPayrollView;
+import com.company.payroll.dto.PayrollMonthSummaryResponse;
 import com.company.payroll.dto.PayrollResponse;
+import com.company.payroll.dto.PayrollRunFailure;
+import com.company.payroll.dto.PayrollRunProgress;
+import com.company.payroll.dto.PayrollRunResponse;
 import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.enums.PayrollStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.YearMonth;
 import java.util.List;
 
 public interface PayrollService {
-    List<HrPayrollView> getHrPayrollView(YearMonth payMonth);
+    CursorPage<HrPayrollView> getHrPayrollView(YearMonth payMonth,
+                                               String department,
+                                               String status,
+                                               String cursor,
+                                               int size);
 
     byte[] downloadPayroll(Long employeeId, YearMonth payMonth);
 
+    StreamingResponseBody exportPayslips(YearMonth payMonth);
+
+    StreamingResponseBody exportPayrollRegister(YearMonth payMonth, ExportFormat format);
+
     PayrollResponse getEmployeePayroll(Long employeeId, YearMonth payMonth);
 
     PayrollResponse generatePayroll(Long employeeId, YearMonth payMonth);
+
+    PayrollResponse updatePayrollStatus(Long payrollId, PayrollStatus status);
+
+    PayrollMonthSummaryResponse getPayrollSummary(YearMonth payMonth);
+
+    PayrollMonthSummaryResponse rebuildPayrollSummary(YearMonth payMonth);
+
+    PayrollRunResponse runPayroll(YearMonth payMonth);
+
+    PayrollRunResponse resumePayrollRun(Long runId);
+
+    PayrollRunProgress getPayrollRunProgress(Long runId);
+
+    List<PayrollRunFailure> getPayrollRunErrors(Long runId);
 }
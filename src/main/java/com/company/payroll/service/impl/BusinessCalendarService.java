@@ -0,0 +1,99 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Holiday;
+import com.company.payroll.repository.HolidayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Working-day calendar: Monday to Friday, minus the holidays in the
+ * {@code holiday} table.
+ * <p>
+ * Each year is loaded once into a prefix-sum array over the day of year,
+ * so counting working days between two dates is a constant-time lookup
+ * (one lookup per calendar year the range spans).
+ */
+@Service
+@RequiredArgsConstructor
+public class BusinessCalendarService {
+
+    private final HolidayRepository holidayRepository;
+
+    /**
+     * year → prefix[d] = working days from 1 Jan up to and including day-of-year d.
+     */
+    private final Map<Integer, int[]> workingDayPrefix = new ConcurrentHashMap<>();
+
+    /**
+     * Working days between two dates, both inclusive. Returns 0 if {@code to}
+     * is before {@code from}.
+     */
+    public int workingDaysBetween(LocalDate from, LocalDate to) {
+
+        if (to.isBefore(from)) {
+            return 0;
+        }
+
+        int days = 0;
+        LocalDate start = from;
+
+        while (start.getYear() < to.getYear()) {
+            int[] prefix = prefixFor(start.getYear());
+            days += prefix[start.lengthOfYear()] - prefix[start.getDayOfYear() - 1];
+            start = LocalDate.of(start.getYear() + 1, 1, 1);
+        }
+
+        int[] prefix = prefixFor(to.getYear());
+        return days + prefix[to.getDayOfYear()] - prefix[start.getDayOfYear() - 1];
+    }
+
+    public int workingDaysInMonth(YearMonth month) {
+        return workingDaysBetween(month.atDay(1), month.atEndOfMonth());
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return workingDaysBetween(date, date) == 1;
+    }
+
+    /**
+     * Drops the precomputed year so the next lookup reloads its holidays.
+     */
+    public void invalidate(int year) {
+        workingDayPrefix.remove(year);
+    }
+
+    private int[] prefixFor(int year) {
+        return workingDayPrefix.computeIfAbsent(year, this::buildPrefix);
+    }
+
+    private int[] buildPrefix(int year) {
+
+        LocalDate first = LocalDate.of(year, 1, 1);
+        int length = first.lengthOfYear();
+
+        boolean[] holiday = new boolean[length + 1];
+        for (Holiday h : holidayRepository.findByHolidayDateBetweenOrderByHolidayDateAsc(
+                first, first.withDayOfYear(length))) {
+            holiday[h.getHolidayDate().getDayOfYear()] = true;
+        }
+
+        int[] prefix = new int[length + 1];
+        DayOfWeek dayOfWeek = first.getDayOfWeek();
+
+        for (int d = 1; d <= length; d++) {
+            boolean working = dayOfWeek != DayOfWeek.SATURDAY
+                    && dayOfWeek != DayOfWeek.SUNDAY
+                    && !holiday[d];
+            prefix[d] = prefix[d - 1] + (working ? 1 : 0);
+            dayOfWeek = dayOfWeek.plus(1);
+        }
+
+        return prefix;
+    }
+}
@@ -0,0 +1,128 @@
+package com.company.payroll.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Employee codes from the {@code emp_code_seq} sequence, reserved a block
+ * at a time (hi/lo).
+ * <p>
+ * One sequence call reserves {@code block-size} consecutive numbers for
+ * this instance, which then hands them out from memory: the common path
+ * is a single atomic increment, and only the thread that finds the block
+ * used up goes back to the database. Instances never share a block, so
+ * codes are unique without probing the employee table. Numbers of a block
+ * left unused at shutdown, or taken by a rolled-back onboarding, are skipped.
+ * Startup fails unless the sequence's INCREMENT BY equals {@code block-size}.
+ */
+@Component
+public class EmpCodeGenerator {
+
+    static final String SEQUENCE = "emp_code_seq";
+
+    private final LongSupplier nextBlock;
+    private final String format;
+    private final int blockSize;
+
+    private volatile Block current = new Block(0, 0);
+
+    @Autowired
+    public EmpCodeGenerator(JdbcTemplate jdbcTemplate,
+                            EntityManagerFactory entityManagerFactory,
+                            @Value("${payroll.emp-code.format:EMP-%d}") String format,
+                            @Value("${payroll.emp-code.block-size:100}") int blockSize) {
+
+        this(nextValue(jdbcTemplate, entityManagerFactory), format, blockSize);
+        checkIncrement(jdbcTemplate, blockSize);
+    }
+
+    EmpCodeGenerator(LongSupplier nextBlock, String format, int blockSize) {
+
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("payroll.emp-code.block-size must be positive");
+        }
+        boolean distinct;
+        try {
+            distinct = !String.format(format, 1L).equals(String.format(format, 2L));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException(
+                    "payroll.emp-code.format must format one number, e.g. EMP-%d: " + format, ex);
+        }
+        if (!distinct) {
+            throw new IllegalArgumentException(
+                    "payroll.emp-code.format must include the number, e.g. EMP-%d: " + format);
+        }
+
+        this.nextBlock = nextBlock;
+        this.format = format;
+        this.blockSize = blockSize;
+    }
+
+    public String next() {
+        while (true) {
+            Block block = current;
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return String.format(format, value);
+            }
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (current == exhausted) {
+            long start = nextBlock.getAsLong();
+            current = new Block(start, start + blockSize);
+        }
+    }
+
+    /**
+     * A block is [nextval, nextval + block-size), so the sequence must step
+     * by exactly block-size: a smaller step hands overlapping blocks to two
+     * instances, a larger one skips numbers.
+     */
+    static void checkIncrement(JdbcTemplate jdbcTemplate, int blockSize) {
+
+        List<Long> increments = jdbcTemplate.queryForList(
+                "SELECT increment FROM information_schema.sequences WHERE LOWER(sequence_name) = ?",
+                Long.class, SEQUENCE);
+
+        if (increments.isEmpty()) {
+            throw new IllegalStateException("Sequence " + SEQUENCE + " not found");
+        }
+        if (increments.get(0) != blockSize) {
+            throw new IllegalStateException("payroll.emp-code.block-size is " + blockSize
+                    + " but " + SEQUENCE + " increments by " + increments.get(0));
+        }
+    }
+
+    private static LongSupplier nextValue(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+
+        String sql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(SEQUENCE);
+
+        return () -> jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.EmployeeImportResult;
+import com.company.payroll.dto.EmployeeImportResult.Outcome;
+import com.company.payroll.dto.EmployeeImportSummary;
+import com.company.payroll.dto.ImportFormat;
+import com.company.payroll.dto.OnboardingRequestDto;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.LeaveBalance;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.LeaveBalanceRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import com.company.payroll.util.PayrollConstants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk onboarding from a CSV or JSON upload, reported row by row as NDJSON.
+ * <p>
+ * Rows are parsed one at a time from the request body and handled in chunks
+ * of {@code payroll.employee-import.chunk-size}. A chunk checks its emails
+ * with one query and inserts its employees, salary structures and leave
+ * balances as JDBC batches in one transaction. Its report lines are flushed
+ * before the next chunk is read, so neither the upload nor the report is
+ * held in memory; only the emails seen so far are kept, to report a repeat
+ * anywhere in the upload against its first row. A chunk the database
+ * rejects (an email taken by a concurrent onboarding) is retried row by row.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    /**
+     * numeric(10,2) salary columns and numeric(5,2) percentages.
+     */
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+    private static final BigDecimal MAX_PERCENTAGE = BigDecimal.valueOf(100);
+
+    private final EmployeeRepository employeeRepository;
+    private final SalaryStructureRepository salaryStructureRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final EmpCodeGenerator empCodeGenerator;
+    private final PayrollMetrics payrollMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final ObjectWriter reportWriter;
+
+    public EmployeeImportService(EmployeeRepository employeeRepository,
+                                 SalaryStructureRepository salaryStructureRepository,
+                                 LeaveBalanceRepository leaveBalanceRepository,
+                                 EmpCodeGenerator empCodeGenerator,
+                                 PayrollMetrics payrollMetrics,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${payroll.employee-import.chunk-size:200}") int chunkSize) {
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("payroll.employee-import.chunk-size must be at least 1");
+        }
+
+        this.employeeRepository = employeeRepository;
+        this.salaryStructureRepository = salaryStructureRepository;
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.empCodeGenerator = empCodeGenerator;
+        this.payrollMetrics = payrollMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        this.jsonReader = objectMapper.readerFor(OnboardingRequestDto.class);
+        this.csvReader = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.TRIM_SPACES, CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build()
+                .readerFor(OnboardingRequestDto.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.reportWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    /**
+     * Imports every row of {@code body} and writes the report to {@code out}:
+     * one {@link EmployeeImportResult} line per row in upload order, then an
+     * {@link EmployeeImportSummary} line. {@code out} is flushed, not closed.
+     * <p>
+     * CSV needs a header row naming the {@link OnboardingRequestDto} fields;
+     * JSON may be an array or one object per line.
+     */
+    public void importEmployees(InputStream body, ImportFormat format, OutputStream out) throws IOException {
+
+        long start = System.nanoTime();
+        OutputStream report = new BufferedOutputStream(out, BUFFER_SIZE);
+        ObjectReader reader = format == ImportFormat.CSV ? csvReader : jsonReader;
+
+        long rows = 0;
+        long created = 0;
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        Map<String, Long> firstRowOfEmail = new HashMap<>();
+        StreamReadException malformed = null;
+
+        try (MappingIterator<OnboardingRequestDto> parsed = reader.readValues(body)) {
+
+            ImportRow row;
+            while ((row = nextRow(parsed, rows + 1)) != null) {
+                rows++;
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    created += writeChunk(chunk, firstRowOfEmail, report);
+                    chunk.clear();
+                }
+            }
+        } catch (StreamReadException ex) {
+            // Syntax error: there is no telling where the next row starts
+            malformed = ex;
+        }
+
+        created += writeChunk(chunk, firstRowOfEmail, report);
+
+        if (malformed != null) {
+            rows++;
+            writeLine(EmployeeImportResult.rejected(rows, Outcome.INVALID, null,
+                    "Malformed input, the rest of the upload was not read: " + malformed.getOriginalMessage()), report);
+        }
+
+        writeLine(new EmployeeImportSummary(rows, created, rows - created, malformed == null), report);
+        report.flush();
+
+        log.info("Employee import ({}): {} rows, {} created in {} ms",
+                format, rows, created, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * The next row, or null at the end of the input. A row whose values do
+     * not map onto the request (a bad date, a stray column) is returned with
+     * its error; the parser moves on to the following row.
+     */
+    private static ImportRow nextRow(MappingIterator<OnboardingRequestDto> parsed, long number) throws IOException {
+        try {
+            if (!parsed.hasNextValue()) {
+                return null;
+            }
+            return new ImportRow(number, parsed.nextValue(), null);
+        } catch (JsonMappingException ex) {
+            return new ImportRow(number, null, "Unreadable row: " + ex.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Imports one chunk and writes its report lines; returns the rows created.
+     * {@code firstRowOfEmail} carries the valid emails of earlier chunks.
+     */
+    private int writeChunk(List<ImportRow> chunk, Map<String, Long> firstRowOfEmail,
+                           OutputStream report) throws IOException {
+
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        int created = 0;
+
+        for (EmployeeImportResult result
+                : payrollMetrics.time(PayrollMetrics.EMPLOYEE_IMPORT_CHUNK, () -> importChunk(chunk, firstRowOfEmail))) {
+            writeLine(result, report);
+            if (result.outcome() == Outcome.CREATED) {
+                created++;
+            }
+        }
+
+        report.flush();
+        return created;
+    }
+
+    private List<EmployeeImportResult> importChunk(List<ImportRow> chunk, Map<String, Long> firstRowOfEmail) {
+
+        EmployeeImportResult[] results = new EmployeeImportResult[chunk.size()];
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+
+            ImportRow row = chunk.get(i);
+            String problem = row.error() != null ? row.error() : validate(row.request());
+
+            if (problem != null) {
+                results[i] = EmployeeImportResult.rejected(row.number(), Outcome.INVALID, row.email(), problem);
+                continue;
+            }
+
+            Long first = firstRowOfEmail.putIfAbsent(row.email(), row.number());
+            if (first != null) {
+                results[i] = EmployeeImportResult.rejected(row.number(), Outcome.DUPLICATE_EMAIL, row.email(),
+                        "Email is also on row " + first + " of this upload");
+                continue;
+            }
+
+            candidates.add(i);
+        }
+
+        List<ImportRow> rows = candidates.stream().map(chunk::get).toList();
+        List<EmployeeImportResult> inserted;
+
+        try {
+            inserted = rows.isEmpty() ? List.of() : transactionTemplate.execute(status -> insert(rows));
+        } catch (DataAccessException ex) {
+            log.warn("Employee import chunk of {} rows rolled back, retrying row by row: {}",
+                    rows.size(), ex.getMostSpecificCause().getMessage());
+            inserted = rows.stream().map(this::insertAlone).toList();
+        }
+
+        for (int k = 0; k < candidates.size(); k++) {
+            results[candidates.get(k)] = inserted.get(k);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private EmployeeImportResult insertAlone(ImportRow row) {
+        try {
+            return transactionTemplate.execute(status -> insert(List.of(row)).get(0));
+        } catch (DataAccessException ex) {
+            return EmployeeImportResult.rejected(row.number(), Outcome.FAILED, row.email(),
+                    ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Inserts the rows whose email is still free; results follow {@code rows}.
+     * Runs inside the caller's transaction.
+     */
+    private List<EmployeeImportResult> insert(List<ImportRow> rows) {
+
+        Set<String> taken = new HashSet<>(employeeRepository.findExistingEmails(
+                rows.stream().map(ImportRow::email).toList()));
+
+        List<EmployeeImportResult> results = new ArrayList<>(rows.size());
+        List<Employee> employees = new ArrayList<>(rows.size());
+        List<SalaryStructure> salaries = new ArrayList<>(rows.size());
+        List<LeaveBalance> balances = new ArrayList<>(rows.size());
+
+        for (ImportRow row : rows) {
+
+            if (taken.contains(row.email())) {
+                results.add(EmployeeImportResult.rejected(row.number(), Outcome.DUPLICATE_EMAIL, row.email(),
+                        PayrollConstants.EMAIL_ALREADY_EXIST));
+                continue;
+            }
+
+            OnboardingRequestDto request = row.request();
+            Employee employee = Employee.builder()
+                    .empCode(empCodeGenerator.next())
+                    .firstName(request.getFirstName())
+                    .middleName(request.getMiddleName())
+                    .lastName(request.getLastName())
+                    .email(request.getEmail())
+                    .department(request.getDepartment())
+                    .designation(request.getDesignation())
+                    .joiningDate(request.getJoiningDate())
+                    .active(true)
+                    .build();
+
+            employees.add(employee);
+            salaries.add(SalaryStructure.builder()
+                    .employee(employee)
+                    .basicSalary(request.getBasicSalary())
+                    .hra(request.getHra())
+                    .allowances(request.getAllowances())
+                    .taxPercentage(request.getTaxPercentage())
+                    .pfPercentage(request.getPfPercentage())
+                    .build());
+            balances.add(EmployeeServiceImpl.openingLeaveBalance(employee, request.getJoiningDate()));
+            results.add(EmployeeImportResult.created(row.number(), row.email(), employee.getEmpCode()));
+        }
+
+        employeeRepository.saveAll(employees);
+        salaryStructureRepository.saveAll(salaries);
+        leaveBalanceRepository.saveAll(balances);
+        return results;
+    }
+
+    /**
+     * Trims the text fields in place and returns the row's problems, or
+     * null when the row can be inserted as is.
+     */
+    private static String validate(OnboardingRequestDto request) {
+
+        request.setFirstName(trim(request.getFirstName()));
+        request.setMiddleName(trim(request.getMiddleName()));
+        request.setLastName(trim(request.getLastName()));
+        request.setEmail(trim(request.getEmail()));
+        request.setDepartment(trim(request.getDepartment()));
+        request.setDesignation(trim(request.getDesignation()));
+
+        List<String> problems = new ArrayList<>();
+
+        text(problems, "firstName", request.getFirstName(), true, 100);
+        text(problems, "middleName", request.getMiddleName(), false, 100);
+        text(problems, "lastName", request.getLastName(), true, 100);
+        text(problems, "email", request.getEmail(), true, 100);
+        text(problems, "department", request.getDepartment(), true, 50);
+        text(problems, "designation", request.getDesignation(), true, 50);
+
+        if (request.getEmail() != null && !EMAIL.matcher(request.getEmail()).matches()) {
+            problems.add("email is not a valid address");
+        }
+        if (request.getJoiningDate() == null) {
+            problems.add("joiningDate is required");
+        }
+
+        amount(problems, "basicSalary", request.getBasicSalary(), MAX_AMOUNT);
+        amount(problems, "hra", request.getHra(), MAX_AMOUNT);
+        amount(problems, "allowances", request.getAllowances(), MAX_AMOUNT);
+        amount(problems, "taxPercentage", request.getTaxPercentage(), MAX_PERCENTAGE);
+        amount(problems, "pfPercentage", request.getPfPercentage(), MAX_PERCENTAGE);
+
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private static void text(List<String> problems, String field, String value, boolean required, int maxLength) {
+        if (value == null) {
+            if (required) {
+                problems.add(field + " is required");
+            }
+        } else if (value.length() > maxLength) {
+            problems.add(field + " is longer than " + maxLength + " characters");
+        }
+    }
+
+    private static void amount(List<String> problems, String field, BigDecimal value, BigDecimal max) {
+        if (value == null) {
+            problems.add(field + " is required");
+        } else if (value.signum() < 0 || value.compareTo(max) > 0) {
+            problems.add(field + " must be between 0 and " + max.toPlainString());
+        }
+    }
+
+    private static String trim(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private void writeLine(Object line, OutputStream report) throws IOException {
+        reportWriter.writeValue(report, line);
+        report.write('\n');
+    }
+
+    private record ImportRow(long number, OnboardingRequestDto request, String error) {
+
+        String email() {
+            return request != null ? request.getEmail() : null;
+        }
+    }
+}
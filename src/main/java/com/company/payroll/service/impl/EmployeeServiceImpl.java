@@ -1,6 +1,10 @@
 package com.company.payroll.service.impl;
 
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.EmployeeCursor;
 import com.company.payroll.dto.EmployeeResponseDto;
+import com.company.payroll.dto.EmployeeSort;
+import com.company.payroll.dto.ImportFormat;
 import com.company.payroll.dto.OnboardingRequestDto;
 import com.company.payroll.dto.OnboardingResponseDto;
 import com.company.payroll.entity.Employee;
@@ -15,10 +19,12 @@ import com.company.payroll.service.EmployeeService;
 import com.company.payroll.util.PayrollConstants;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.security.SecureRandom;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
@@ -35,12 +41,19 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final SalaryStructureRepository salaryStructureRepository;
     private final LeaveRequestRepository leaveRequestRepository;
     private final LeaveBalanceRepository leaveBalanceRepository;
-    private static final SecureRandom RANDOM = new SecureRandom();
+    private final PayrollMetrics payrollMetrics;
+    private final EmpCodeGenerator empCodeGenerator;
+    private final EmployeeImportService employeeImportService;
+    private static final int MAX_PAGE_SIZE = 500;
 
     /* ================= PUBLIC METHODS ================= */
 
     @Override
     public OnboardingResponseDto onBoardNewEmployee(OnboardingRequestDto request) {
+        return payrollMetrics.time(PayrollMetrics.EMPLOYEE_ONBOARD, () -> onBoard(request));
+    }
+
+    private OnboardingResponseDto onBoard(OnboardingRequestDto request) {
 
         // Validate duplicate email
         if (employeeRepository.existsByEmail(request.getEmail())) {
@@ -48,13 +61,23 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         Employee employee = Employee.builder()
-                .empCode(generateUniqueEmpCode())
+                .empCode(empCodeGenerator.next())
                 .active(true)
                 .build();
 
         return saveOrUpdateEmployee(employee, request);
     }
 
+    /**
+     * The import runs when the response body is written, in transactions of
+     * its own; nothing is done inside this call.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StreamingResponseBody importEmployees(InputStream body, ImportFormat format) {
+        return out -> employeeImportService.importEmployees(body, format, out);
+    }
+
     @Override
     public OnboardingResponseDto updateEmployeeRecord(
             String empCode,
@@ -82,41 +105,32 @@ public class EmployeeServiceImpl implements EmployeeService {
         employeeRepository.save(employee);
     }
 
+    /**
+     * One page of active employees with salary columns, fetched in a single
+     * query. {@code cursor} is the nextCursor of the previous page.
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<EmployeeResponseDto> getAllActiveEmployees() {
-
-        List<Employee> activeEmployees =
-                employeeRepository.findByActiveTrueOrderByCreatedAtDesc();
-
-        return activeEmployees.stream()
-                .map(emp -> {
-
-                    SalaryStructure salary = salaryStructureRepository
-                            .findByEmployee(emp)
-                            .orElse(null);
-
-                    return EmployeeResponseDto.builder()
-                            .id(emp.getId())
-                            .empCode(emp.getEmpCode())
-                            .email(emp.getEmail())
-                            .firstName(emp.getFirstName())
-                            .middleName(emp.getMiddleName())
-                            .lastName(emp.getLastName())
-                            .department(emp.getDepartment())
-                            .designation(emp.getDesignation())
-                            .joiningDate(emp.getJoiningDate())
-
-                            // Salary (null-safe)
-                            .basicSalary(salary != null ? salary.getBasicSalary() : null)
-                            .hra(salary != null ? salary.getHra() : null)
-                            .allowances(salary != null ? salary.getAllowances() : null)
-                            .taxPercentage(salary != null ? salary.getTaxPercentage() : null)
-                            .pfPercentage(salary != null ? salary.getPfPercentage() : null)
-
-                            .build();
-                })
-                .toList();
+    public CursorPage<EmployeeResponseDto> getAllActiveEmployees(String sort,
+                                                                 String direction,
+                                                                 String cursor,
+                                                                 int size) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        boolean descending = !"asc".equalsIgnoreCase(direction);
+
+        List<EmployeeResponseDto> rows = employeeRepository.findActiveWithSalary(
+                EmployeeSort.fromParam(sort),
+                descending,
+                cursor == null || cursor.isBlank() ? null : EmployeeCursor.decode(cursor),
+                size + 1
+        );
+
+        return CursorPage.of(rows, size, row -> EmployeeCursor.of(row).encode());
     }
 
     @Override
@@ -140,6 +154,7 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .designation(emp.getDesignation())
                 .joiningDate(emp.getJoiningDate())
                 .email(emp.getEmail())
+                .createdAt(emp.getCreatedAt())
                 // Salary (null-safe)
                 .basicSalary(salary != null ? salary.getBasicSalary() : null)
                 .hra(salary != null ? salary.getHra() : null)
@@ -189,29 +204,12 @@ public class EmployeeServiceImpl implements EmployeeService {
         salaryStructure.setPfPercentage(request.getPfPercentage());
 
         salaryStructureRepository.save(salaryStructure);
-        Map<String, Double> leaveRemaining = calculateFromJoiningDateToYearEnd(request.getJoiningDate());
-        LeaveBalance leave = LeaveBalance.builder()
-                .employee(employee)
-                .leaveYear(LocalDate.now().getYear())
-                .totalPto(BigDecimal.valueOf(leaveRemaining.get("PTO")))
-                .totalClSl(BigDecimal.valueOf(leaveRemaining.get("clSl")))
-                .usedPto(BigDecimal.valueOf(0.0))
-                .usedClSl(BigDecimal.valueOf(0.0))
-                .build();
-        leaveBalanceRepository.save(leave);
+        leaveBalanceRepository.save(openingLeaveBalance(employee, request.getJoiningDate()));
         return buildResponse(savedEmployee);
     }
 
     /* ================= HELPERS ================= */
 
-    private String generateUniqueEmpCode() {
-        String empCode;
-        do {
-            empCode = "EMP-" + (10000 + RANDOM.nextInt(90000));
-        } while (employeeRepository.existsByEmpCode(empCode));
-        return empCode;
-    }
-
     private String buildFullName(String first, String middle, String last) {
         return (middle == null || middle.isBlank())
                 ? first + " " + last
@@ -231,7 +229,22 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
 
-    public Map<String, Double> calculateFromJoiningDateToYearEnd(LocalDate joiningDate) {
+    /**
+     * Current year's leave balance of a new joiner, accrued from the joining date.
+     */
+    static LeaveBalance openingLeaveBalance(Employee employee, LocalDate joiningDate) {
+        Map<String, Double> leaveRemaining = calculateFromJoiningDateToYearEnd(joiningDate);
+        return LeaveBalance.builder()
+                .employee(employee)
+                .leaveYear(LocalDate.now().getYear())
+                .totalPto(BigDecimal.valueOf(leaveRemaining.get("PTO")))
+                .totalClSl(BigDecimal.valueOf(leaveRemaining.get("clSl")))
+                .usedPto(BigDecimal.valueOf(0.0))
+                .usedClSl(BigDecimal.valueOf(0.0))
+                .build();
+    }
+
+    public static Map<String, Double> calculateFromJoiningDateToYearEnd(LocalDate joiningDate) {
         Map<String, Double> totalLeave = new HashMap<>();
         LocalDate effectiveJoining = joiningDate.getDayOfMonth() <= 15
                 ? joiningDate
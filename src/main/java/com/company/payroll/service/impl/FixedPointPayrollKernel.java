@@ -0,0 +1,99 @@
+package com.company.payroll.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Payroll arithmetic on scaled {@code long} values.
+ * <p>
+ * Amounts are in paise (scale 2), percentages in hundredths of a percent
+ * (scale 2) and the per-day salary in 1/10000 rupee (scale 4). Every
+ * division rounds HALF_UP exactly like the BigDecimal path in
+ * {@link PayrollCalculatorService}, so both produce identical figures.
+ * <p>
+ * Any value that is not exact at its scale, or any overflow, throws
+ * {@link ArithmeticException}; callers fall back to BigDecimal then.
+ */
+final class FixedPointPayrollKernel {
+
+    private FixedPointPayrollKernel() {
+    }
+
+    /**
+     * Result of one payroll calculation, all amounts in paise.
+     */
+    record Amounts(long gross,
+                   long pf,
+                   long tax,
+                   long leaveDeduction,
+                   long totalDeductions,
+                   long net) {
+    }
+
+    static Amounts compute(long basicPaise,
+                           long hraPaise,
+                           long allowancesPaise,
+                           long pfPercentHundredths,
+                           long taxPercentHundredths,
+                           int workingDays,
+                           int unpaidLeaveDays) {
+
+        long gross = Math.addExact(Math.addExact(basicPaise, hraPaise), allowancesPaise);
+
+        // gross / workingDays at scale 4
+        long perDay = divideHalfUp(Math.multiplyExact(gross, 100), workingDays);
+
+        // perDay * unpaid days, back to scale 2
+        long leaveDeduction = divideHalfUp(Math.multiplyExact(perDay, unpaidLeaveDays), 100);
+
+        long pf = percentage(gross, pfPercentHundredths);
+        long tax = percentage(gross, taxPercentHundredths);
+
+        long totalDeductions = Math.addExact(Math.addExact(pf, tax), leaveDeduction);
+        long net = Math.subtractExact(gross, totalDeductions);
+
+        return new Amounts(gross, pf, tax, leaveDeduction, totalDeductions, net);
+    }
+
+    /**
+     * Exact conversion to a scaled long; throws if {@code value} has more
+     * fractional digits than {@code scale} or does not fit.
+     */
+    static long toScaled(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.UNNECESSARY)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    static BigDecimal toAmount(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    /**
+     * base * percentage / 100 at scale 2; non-positive percentages yield 0.
+     */
+    private static long percentage(long basePaise, long percentHundredths) {
+
+        if (percentHundredths <= 0) {
+            return 0;
+        }
+
+        return divideHalfUp(Math.multiplyExact(basePaise, percentHundredths), 10_000);
+    }
+
+    /**
+     * {@code dividend / divisor} rounded HALF_UP (ties away from zero),
+     * for a positive divisor.
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+
+        if (Math.abs(remainder) * 2 >= divisor) {
+            return dividend < 0 ? quotient - 1 : quotient + 1;
+        }
+
+        return quotient;
+    }
+}
@@ -0,0 +1,70 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.HolidayDto;
+import com.company.payroll.entity.Holiday;
+import com.company.payroll.repository.HolidayRepository;
+import com.company.payroll.service.HolidayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Holiday maintenance. Not transactional on purpose: each change is
+ * committed by the repository before the business calendar is invalidated,
+ * so the calendar can never reload the year from uncommitted data.
+ */
+@Service
+@RequiredArgsConstructor
+public class HolidayServiceImpl implements HolidayService {
+
+    private final HolidayRepository holidayRepository;
+    private final BusinessCalendarService businessCalendarService;
+
+    @Override
+    public List<HolidayDto> getHolidays(int year) {
+        return holidayRepository
+                .findByHolidayDateBetweenOrderByHolidayDateAsc(
+                        LocalDate.of(year, 1, 1),
+                        LocalDate.of(year, 12, 31))
+                .stream()
+                .map(this::mapToDto)
+                .toList();
+    }
+
+    @Override
+    public HolidayDto addHoliday(HolidayDto dto) {
+
+        if (dto.date() == null || dto.name() == null || dto.name().isBlank()) {
+            throw new IllegalArgumentException("Holiday date and name are required");
+        }
+
+        if (holidayRepository.existsByHolidayDate(dto.date())) {
+            throw new IllegalArgumentException("Holiday already exists on " + dto.date());
+        }
+
+        Holiday holiday = holidayRepository.save(Holiday.builder()
+                .holidayDate(dto.date())
+                .name(dto.name())
+                .build());
+
+        businessCalendarService.invalidate(holiday.getHolidayDate().getYear());
+        return mapToDto(holiday);
+    }
+
+    @Override
+    public void deleteHoliday(Long holidayId) {
+
+        Holiday holiday = holidayRepository.findById(holidayId)
+                .orElseThrow(() ->
+                        new IllegalArgumentException("Holiday not found with id " + holidayId));
+
+        holidayRepository.delete(holiday);
+        businessCalendarService.invalidate(holiday.getHolidayDate().getYear());
+    }
+
+    private HolidayDto mapToDto(Holiday holiday) {
+        return new HolidayDto(holiday.getId(), holiday.getHolidayDate(), holiday.getName());
+    }
+}
@@ -1,5 +1,12 @@
 package com.company.payroll.service.impl;
 
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.LeaveDecision;
+import com.company.payroll.dto.LeaveDecisionRequest;
+import com.company.payroll.dto.LeaveDecisionResponse;
+import com.company.payroll.dto.LeaveDecisionResult;
+import com.company.payroll.dto.LeaveDecisionResult.Outcome;
+import com.company.payroll.dto.LeaveInboxFilter;
 import com.company.payroll.dto.LeaveRequestDto;
 import com.company.payroll.dto.LeaveResponseDto;
 import com.company.payroll.entity.Employee;
@@ -19,7 +26,17 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,11 +45,28 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
     private final LeaveBalanceRepository leaveBalanceRepository;
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
+    private final BusinessCalendarService businessCalendarService;
+    private final PayrollMetrics payrollMetrics;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_DECISIONS = 1000;
+
+    /**
+     * Leaves that occupy their days; a new request may not overlap any of them.
+     */
+    private static final List<LeaveStatus> ACTIVE_STATUSES =
+            List.of(LeaveStatus.PENDING, LeaveStatus.APPROVED);
 
     @Override
+    @Transactional
     public LeaveResponseDto applyLeave(LeaveRequestDto dto) {
+        return payrollMetrics.time(PayrollMetrics.LEAVE_APPLY, () -> apply(dto));
+    }
+
+    private LeaveResponseDto apply(LeaveRequestDto dto) {
 
-        Employee employee = employeeRepository.findByEmpCode(dto.getEmpCode())
+        // Locked until commit, so two submissions cannot both pass the overlap check
+        Employee employee = employeeRepository.findByEmpCodeForUpdate(dto.getEmpCode())
                 .orElseThrow(() ->
                         new EmployeeNotFoundException(
                                 PayrollConstants.EMPLOYEE_NOT_FOUND + dto.getEmpCode()
@@ -49,6 +83,8 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 
         long days = calculateBusinessDays(dto.getFromDate(), dto.getToDate());
 
+        rejectOverlap(employee, dto.getFromDate(), dto.getToDate());
+
         validateSufficientBalance(dto.getLeaveType(), balance, days);
 
         LeaveRequest request = LeaveRequest.builder()
@@ -74,102 +110,242 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
                 .build();
     }
 
+    /**
+     * Looks for any active leave with from_date &lt;= to and to_date &gt;= from
+     * in each active status, and reports the later-starting match.
+     * Leaves stored before this check existed may overlap one another, so
+     * the last leave starting before {@code to} is not enough to test; each
+     * lookup reads the employee's leaves in that status that start on or
+     * before {@code to} until one also ends on or after {@code from}.
+     */
+    private void rejectOverlap(Employee employee, LocalDate from, LocalDate to) {
+
+        ACTIVE_STATUSES.stream()
+                .map(status -> leaveRequestRepository
+                        .findFirstByEmployeeAndStatusAndFromDateLessThanEqualAndToDateGreaterThanEqualOrderByFromDateDesc(
+                                employee, status, to, from))
+                .flatMap(Optional::stream)
+                .max(Comparator.comparing(LeaveRequest::getFromDate))
+                .ifPresent(previous -> {
+                    throw new IllegalStateException(
+                            "Leave overlaps " + previous.getStatus().name().toLowerCase()
+                                    + " request " + previous.getId()
+                                    + " (" + previous.getFromDate() + " to " + previous.getToDate() + ")");
+                });
+    }
+
     private void validateSufficientBalance(LeaveType type,
                                            LeaveBalance balance,
                                            long requestedDays) {
 
-        BigDecimal remaining;
-
-        if (type == LeaveType.PTO) {
-            remaining = balance.getTotalPto()
-                    .subtract(balance.getUsedPto());
-        } else {
-            remaining = balance.getTotalClSl()
-                    .subtract(balance.getUsedClSl());
-        }
-
-        if (remaining.compareTo(BigDecimal.valueOf(requestedDays)) < 0) {
+        if (remaining(type, balance).compareTo(BigDecimal.valueOf(requestedDays)) < 0) {
             throw new IllegalArgumentException("Insufficient leave balance");
         }
     }
 
     @Transactional
     public void approveLeave(Long requestId) {
+        payrollMetrics.time(PayrollMetrics.LEAVE_APPROVE, () -> approve(requestId));
+    }
 
-        LeaveRequest request = leaveRequestRepository.findById(requestId)
-                .orElseThrow();
+    private void approve(Long requestId) {
 
-        LeaveBalance balance = leaveBalanceRepository
-                .findByEmployeeAndLeaveYear(
-                        request.getEmployee(),
-                        request.getFromDate().getYear()
-                )
-                .orElseThrow();
+        // Claims the request first: a second approval of it finds it no longer PENDING
+        if (leaveRequestRepository.transition(requestId, LeaveStatus.PENDING, LeaveStatus.APPROVED) == 0) {
+            LeaveRequest request = leaveRequestRepository.findById(requestId).orElseThrow();
+            throw new IllegalStateException("Leave request " + requestId + " is "
+                    + request.getStatus().name().toLowerCase() + ", not pending");
+        }
 
-        BigDecimal days = BigDecimal.valueOf(request.getTotalDays());
+        LeaveRequest request = leaveRequestRepository.findById(requestId).orElseThrow();
 
-        if (request.getLeaveType() == LeaveType.PTO) {
-            balance.setUsedPto(balance.getUsedPto().add(days));
-        } else {
-            balance.setUsedClSl(balance.getUsedClSl().add(days));
-        }
+        consumeBalance(request);
+    }
 
-        request.setStatus(LeaveStatus.APPROVED);
+    /**
+     * Deducts the days with one conditional UPDATE of the balance row. The
+     * check done when the leave was applied may be stale by now; this one is
+     * not, and failing it rolls the approval back.
+     */
+    private void consumeBalance(LeaveRequest request) {
 
-        leaveRequestRepository.save(request);
-        leaveBalanceRepository.save(balance);
+        Long employeeId = request.getEmployee().getId();
+        int year = request.getFromDate().getYear();
+        BigDecimal days = BigDecimal.valueOf(request.getTotalDays());
+
+        int updated = request.getLeaveType() == LeaveType.PTO
+                ? leaveBalanceRepository.consumePto(employeeId, year, days)
+                : leaveBalanceRepository.consumeClSl(employeeId, year, days);
+
+        if (updated == 0) {
+            throw new IllegalStateException("Insufficient " + request.getLeaveType()
+                    + " balance for " + year + " to approve leave request " + request.getId());
+        }
     }
 
+    /**
+     * Approves or rejects many requests in one transaction: the requests
+     * are loaded and locked with one query, the affected balances with a
+     * second, and the status and balance changes are flushed as JDBC
+     * batches. Each balance row is written once however many of its
+     * requests are approved. Requests that cannot be decided are reported
+     * per item and do not fail the others.
+     */
+    @Override
     @Transactional
-    public List<LeaveResponseDto> getAllLeaveRequest(String empCode) {
+    public LeaveDecisionResponse decideLeaves(LeaveDecisionRequest decision) {
+        return payrollMetrics.time(PayrollMetrics.LEAVE_DECIDE, () -> decide(decision));
+    }
+
+    private LeaveDecisionResponse decide(LeaveDecisionRequest decision) {
+
+        if (decision == null || decision.action() == null) {
+            throw new IllegalArgumentException("Action is required (APPROVE or REJECT)");
+        }
+        if (decision.requestIds() == null || decision.requestIds().isEmpty()
+                || decision.requestIds().size() > MAX_DECISIONS) {
+            throw new IllegalArgumentException(
+                    "Between 1 and " + MAX_DECISIONS + " request ids are required");
+        }
+        if (decision.requestIds().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Request ids cannot be null");
+        }
 
-        List<LeaveRequest> leaves;
+        Set<Long> ids = new LinkedHashSet<>(decision.requestIds());
+
+        // Request rows before balance rows, each in id order, as in a single approval
+        Map<Long, LeaveRequest> requests = leaveRequestRepository.lockAllById(ids).stream()
+                .collect(Collectors.toMap(LeaveRequest::getId, Function.identity()));
+
+        Map<Long, LeaveDecisionResult> results = new HashMap<>();
+        List<LeaveRequest> pending = new ArrayList<>();
+
+        for (Long id : ids) {
+            LeaveRequest request = requests.get(id);
+            if (request == null) {
+                results.put(id, new LeaveDecisionResult(id, Outcome.NOT_FOUND,
+                        "Leave request not found"));
+            } else if (request.getStatus() != LeaveStatus.PENDING) {
+                results.put(id, new LeaveDecisionResult(id, Outcome.ALREADY_DECIDED,
+                        "Leave request is " + request.getStatus().name().toLowerCase()));
+            } else {
+                pending.add(request);
+            }
+        }
 
-        if (empCode != null) {
-            leaves = leaveRequestRepository.findByEmployeeEmpCode(empCode);
+        if (decision.action() == LeaveDecision.APPROVE) {
+            approveAll(pending, results);
         } else {
-            leaves = leaveRequestRepository.findAll();
+            for (LeaveRequest request : pending) {
+                request.setStatus(LeaveStatus.REJECTED);
+                results.put(request.getId(), new LeaveDecisionResult(request.getId(), Outcome.REJECTED, null));
+            }
         }
 
-        return leaves.stream()
-                .map(this::mapToResponse)
-                .toList();
+        return LeaveDecisionResponse.of(ids.stream().map(results::get).toList());
     }
 
+    /**
+     * Approves pending requests in id order, whatever order the client sent
+     * them in, so when a balance cannot cover them all the oldest requests
+     * are the ones approved.
+     */
+    private void approveAll(List<LeaveRequest> pending, Map<Long, LeaveDecisionResult> results) {
 
-    private long calculateBusinessDays(LocalDate start, LocalDate end) {
-
-        if (end.isBefore(start)) {
-            throw new IllegalArgumentException("To date cannot be before from date");
+        if (pending.isEmpty()) {
+            return;
         }
 
-        long days = 0;
+        pending.sort(Comparator.comparing(LeaveRequest::getId));
+
+        Set<Long> employeeIds = pending.stream()
+                .map(request -> request.getEmployee().getId())
+                .collect(Collectors.toSet());
+        Set<Integer> years = pending.stream()
+                .map(request -> request.getFromDate().getYear())
+                .collect(Collectors.toSet());
 
-        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+        Map<BalanceKey, LeaveBalance> balances = leaveBalanceRepository
+                .lockByEmployeesAndYears(employeeIds, years).stream()
+                .collect(Collectors.toMap(
+                        balance -> new BalanceKey(balance.getEmployee().getId(), balance.getLeaveYear()),
+                        Function.identity()));
 
-            if (!(date.getDayOfWeek() == java.time.DayOfWeek.SATURDAY ||
-                    date.getDayOfWeek() == java.time.DayOfWeek.SUNDAY)) {
+        for (LeaveRequest request : pending) {
 
-                days++;
+            int year = request.getFromDate().getYear();
+            LeaveBalance balance = balances.get(new BalanceKey(request.getEmployee().getId(), year));
+            BigDecimal days = BigDecimal.valueOf(request.getTotalDays());
+
+            if (balance == null || remaining(request.getLeaveType(), balance).compareTo(days) < 0) {
+                results.put(request.getId(), new LeaveDecisionResult(request.getId(), Outcome.INSUFFICIENT_BALANCE,
+                        "Insufficient " + request.getLeaveType() + " balance for " + year));
+                continue;
+            }
+
+            if (request.getLeaveType() == LeaveType.PTO) {
+                balance.setUsedPto(balance.getUsedPto().add(days));
+            } else {
+                balance.setUsedClSl(balance.getUsedClSl().add(days));
             }
+            request.setStatus(LeaveStatus.APPROVED);
+            results.put(request.getId(), new LeaveDecisionResult(request.getId(), Outcome.APPROVED, null));
         }
+    }
 
-        return days;
+    private static BigDecimal remaining(LeaveType type, LeaveBalance balance) {
+        return type == LeaveType.PTO
+                ? balance.getTotalPto().subtract(balance.getUsedPto())
+                : balance.getTotalClSl().subtract(balance.getUsedClSl());
     }
 
-    private LeaveResponseDto mapToResponse(LeaveRequest leave) {
-        return LeaveResponseDto.builder()
-                .id(leave.getId())
-                .firstName(leave.getEmployee().getFirstName())
-                .middleName(leave.getEmployee().getMiddleName())
-                .lastName(leave.getEmployee().getLastName())
-                .empCode(leave.getEmployee().getEmpCode())
-                .leaveType(leave.getLeaveType())
-                .fromDate(leave.getFromDate())
-                .toDate(leave.getToDate())
-                .totalDays(leave.getTotalDays())
-                .status(leave.getStatus())
-                .build();
+    private record BalanceKey(Long employeeId, int year) {
+    }
+
+    /**
+     * Leave request listing, one keyset page at a time, newest first.
+     * Without an employee or status filter this is the HR inbox: PENDING only.
+     */
+    @Override
+    public CursorPage<LeaveResponseDto> getLeaveRequests(LeaveInboxFilter filter, String cursor, int size) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (filter.from() != null && filter.to() != null && filter.to().isBefore(filter.from())) {
+            throw new IllegalArgumentException("To date cannot be before from date");
+        }
+
+        if (filter.empCode() == null && filter.status() == null) {
+            filter = filter.withStatus(LeaveStatus.PENDING);
+        }
+
+        List<LeaveResponseDto> rows = leaveRequestRepository.findInbox(
+                filter,
+                cursor == null || cursor.isBlank() ? null : Long.parseLong(cursor),
+                size + 1
+        );
+
+        return CursorPage.of(rows, size, row -> row.getId().toString());
+    }
+
+    /**
+     * Inbox badge; a COUNT over the (status, id) index.
+     */
+    @Override
+    public long countPendingLeaveRequests() {
+        return leaveRequestRepository.countByStatus(LeaveStatus.PENDING);
+    }
+
+    long calculateBusinessDays(LocalDate start, LocalDate end) {
+
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("To date cannot be before from date");
+        }
+
+        return businessCalendarService.workingDaysBetween(start, end);
     }
 
 }
@@ -4,27 +4,31 @@ import com.company.payroll.entity.Employee;
 import com.company.payroll.entity.Payroll;
 import com.company.payroll.entity.enums.PayrollStatus;
 import com.company.payroll.service.PaySlipService;
-import com.itextpdf.kernel.colors.ColorConstants;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.borders.SolidBorder;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.properties.TextAlignment;
-import com.itextpdf.layout.properties.UnitValue;
+import com.company.payroll.service.impl.PayslipTemplate.Field;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.EnumMap;
+import java.util.Map;
 
+/**
+ * Renders payslips from a {@link PayslipTemplate} prepared once at startup,
+ * so each call only fills in the payroll's values.
+ */
 @Service
+@RequiredArgsConstructor
 public class PaySlipServiceImpl implements PaySlipService {
 
+    private static final DateTimeFormatter MONTH_FORMAT =
+            DateTimeFormatter.ofPattern("MMMM yyyy");
+
+    private static final String RUPEE = "₹ ";
+
+    private final PayslipTemplate template = PayslipTemplate.build();
+
+    private final PayrollMetrics payrollMetrics;
 
     @Override
     public byte[] generatePayslipPdf(Payroll payroll) {
@@ -35,137 +39,48 @@ public class PaySlipServiceImpl implements PaySlipService {
             throw new IllegalStateException("Payroll not generated yet");
         }
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdf = new PdfDocument(writer);
-            Document document = new Document(pdf);
-
-            // ================= HEADER =================
-
-            document.add(new Paragraph("TechNova Systems Pvt Ltd")
-                    .setBold()
-                    .setFontSize(16)
-                    .setTextAlignment(TextAlignment.CENTER));
-
-            document.add(new Paragraph("Bangalore, India")
-                    .setTextAlignment(TextAlignment.CENTER));
-
-            document.add(new Paragraph("Pay Slip for "
-                    + payroll.getPayMonth()
-                    .format(DateTimeFormatter.ofPattern("MMMM yyyy")))
-                    .setBold()
-                    .setMarginBottom(20)
-                    .setTextAlignment(TextAlignment.CENTER));
-
-            // ================= EMPLOYEE DETAILS TABLE =================
-
-            Table empTable = new Table(UnitValue.createPercentArray(4))
-                    .useAllAvailableWidth();
-
-            empTable.addCell(createCell("Employee ID"));
-            empTable.addCell(createCell(payroll.getEmployee().getId().toString()));
-            empTable.addCell(createCell("Designation"));
-            empTable.addCell(createCell(payroll.getEmployee().getDesignation()));
-
-            empTable.addCell(createCell("Employee Name"));
-            empTable.addCell(createCell(buildFullName(payroll.getEmployee())));
-            empTable.addCell(createCell("Date of Joining"));
-            empTable.addCell(createCell(
-                    payroll.getEmployee().getJoiningDate().toString()));
-
-            document.add(empTable);
-            document.add(new Paragraph("\n"));
-
-            // ================= SUMMARY TABLE =================
-
-            Table summaryTable = new Table(UnitValue.createPercentArray(4))
-                    .useAllAvailableWidth();
+        byte[] pdf = payrollMetrics.time(PayrollMetrics.PAYSLIP_RENDER, () -> {
+            try {
+                return template.render(values(payroll));
+            } catch (Exception e) {
+                throw new RuntimeException("Error generating payslip PDF", e);
+            }
+        });
 
-            summaryTable.addCell(createCell("Gross Salary"));
-            summaryTable.addCell(createCell("₹ " + payroll.getGrossSalary()));
-
-            summaryTable.addCell(createCell("Working Days"));
-            summaryTable.addCell(createCell(String.valueOf(payroll.getWorkingDays())));
-
-            summaryTable.addCell(createCell("LOP Days"));
-            summaryTable.addCell(createCell(String.valueOf(payroll.getLopDays())));
-
-            summaryTable.addCell(createCell("Paid Days"));
-            summaryTable.addCell(createCell(String.valueOf(payroll.getPaidDays())));
-
-            document.add(summaryTable);
-            document.add(new Paragraph("\n"));
-
-            // ================= EARNINGS & DEDUCTIONS =================
-
-            Table salaryTable = new Table(UnitValue.createPercentArray(4))
-                    .useAllAvailableWidth();
-
-            salaryTable.addHeaderCell(createHeaderCell("Earnings"));
-            salaryTable.addHeaderCell(createHeaderCell("Amount"));
-            salaryTable.addHeaderCell(createHeaderCell("Deductions"));
-            salaryTable.addHeaderCell(createHeaderCell("Amount"));
-
-            salaryTable.addCell(createCell("Basic"));
-            salaryTable.addCell(createCell("₹ " + payroll.getGrossSalary()));
-            salaryTable.addCell(createCell("PF"));
-            salaryTable.addCell(createCell("₹ " + payroll.getPfAmount()));
-
-            salaryTable.addCell(createCell("HRA"));
-            salaryTable.addCell(createCell("Included"));
-            salaryTable.addCell(createCell("Tax"));
-            salaryTable.addCell(createCell("₹ " + payroll.getTaxAmount()));
+        payrollMetrics.recordPayslipSize(pdf.length);
+        return pdf;
+    }
 
-            salaryTable.addCell(createCell("Leave Deduction"));
-            salaryTable.addCell(createCell("₹ 0"));
-            salaryTable.addCell(createCell("Leave Deduction"));
-            salaryTable.addCell(createCell("₹ " + payroll.getLeaveDeduction()));
+    static Map<Field, String> values(Payroll payroll) {
 
-            salaryTable.addCell(createHeaderCell("Total Earnings"));
-            salaryTable.addCell(createHeaderCell("₹ " + payroll.getGrossSalary()));
-            salaryTable.addCell(createHeaderCell("Total Deductions"));
-            salaryTable.addCell(createHeaderCell("₹ " + payroll.getTotalDeductions()));
+        Employee employee = payroll.getEmployee();
+        Map<Field, String> values = new EnumMap<>(Field.class);
 
-            document.add(salaryTable);
-            document.add(new Paragraph("\n"));
+        values.put(Field.MONTH_TITLE, "Pay Slip for " + payroll.getPayMonth().format(MONTH_FORMAT));
 
-            // ================= NET SALARY =================
+        values.put(Field.EMPLOYEE_ID, employee.getId().toString());
+        values.put(Field.DESIGNATION, employee.getDesignation());
+        values.put(Field.EMPLOYEE_NAME, employee.getFullName());
+        values.put(Field.JOINING_DATE, employee.getJoiningDate().toString());
 
-            document.add(new Paragraph("Net Salary: ₹ " + payroll.getNetSalary())
-                    .setBold()
-                    .setFontSize(14)
-                    .setTextAlignment(TextAlignment.RIGHT));
+        values.put(Field.GROSS_SALARY, amount(payroll.getGrossSalary()));
+        values.put(Field.WORKING_DAYS, String.valueOf(payroll.getWorkingDays()));
+        values.put(Field.LOP_DAYS, String.valueOf(payroll.getLopDays()));
+        values.put(Field.PAID_DAYS, String.valueOf(payroll.getPaidDays()));
 
-            document.close();
+        values.put(Field.BASIC, amount(payroll.getGrossSalary()));
+        values.put(Field.PF, amount(payroll.getPfAmount()));
+        values.put(Field.TAX, amount(payroll.getTaxAmount()));
+        values.put(Field.LEAVE_DEDUCTION, amount(payroll.getLeaveDeduction()));
+        values.put(Field.TOTAL_EARNINGS, amount(payroll.getGrossSalary()));
+        values.put(Field.TOTAL_DEDUCTIONS, amount(payroll.getTotalDeductions()));
 
-            return baos.toByteArray();
-        } catch (Exception e) {
-            throw new RuntimeException("Error generating payslip PDF", e);
-        }
-    }
-
-    private Cell createCell(String value) {
-        return new Cell()
-                .add(new Paragraph(value))
-                .setBorder(new SolidBorder(ColorConstants.BLACK, 0.5f));
-    }
+        values.put(Field.NET_SALARY, "Net Salary: " + amount(payroll.getNetSalary()));
 
-    private Cell createHeaderCell(String value) {
-        return new Cell()
-                .add(new Paragraph(value).setBold())
-                .setBackgroundColor(ColorConstants.LIGHT_GRAY)
-                .setBorder(new SolidBorder(ColorConstants.BLACK, 0.5f));
+        return values;
     }
 
-    private String buildFullName(Employee employee) {
-        return Stream.of(
-                        employee.getFirstName(),
-                        employee.getMiddleName(),
-                        employee.getLastName()
-                )
-                .filter(Objects::nonNull)
-                .filter(s -> !s.isBlank())
-                .collect(Collectors.joining(" "));
+    private static String amount(BigDecimal value) {
+        return RUPEE + value;
     }
 }
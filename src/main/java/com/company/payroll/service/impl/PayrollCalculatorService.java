@@ -17,7 +17,6 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
@@ -27,9 +26,24 @@ public class PayrollCalculatorService {
     private final PayrollRepository payrollRepository;
     private final SalaryStructureRepository salaryStructureRepository;
     private final LeaveRequestRepository leaveRequestRepository;
+    private final BusinessCalendarService businessCalendarService;
+    private final PayrollMetrics payrollMetrics;
     private static final int FREE_LEAVE_DAYS_PER_MONTH = 2;
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
 
     Payroll calculatePayroll(Long employeeId, YearMonth payMonth) {
+        try {
+            Payroll payroll = payrollMetrics.time(PayrollMetrics.PAYROLL_CALCULATE,
+                    () -> computeAndSave(employeeId, payMonth));
+            payrollMetrics.payrollsGeneratedAfterCommit(PayrollMetrics.SOURCE_SINGLE, 1);
+            return payroll;
+        } catch (RuntimeException ex) {
+            payrollMetrics.payrollsFailed(PayrollMetrics.SOURCE_SINGLE, 1);
+            throw ex;
+        }
+    }
+
+    private Payroll computeAndSave(Long employeeId, YearMonth payMonth) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Employee not found"));
 
@@ -37,29 +51,101 @@ public class PayrollCalculatorService {
                 .findByEmployeeId(employeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Salary structure not found"));
 
-        LocalDate start = payMonth.atDay(1);
-        LocalDate end = payMonth.atEndOfMonth();
-
-        BigDecimal grossSalary =
-                salary.getBasicSalary()
-                        .add(salary.getHra())
-                        .add(salary.getAllowances());
-
-        int workingDays = calculateWorkingDays(payMonth);
-
         List<LeaveRequest> leaves =
                 leaveRequestRepository.findLeavesForPayrollMonth(
                         employeeId,
                         LeaveStatus.APPROVED,
-                        start,
-                        end
+                        payMonth.atDay(1),
+                        payMonth.atEndOfMonth()
                 );
 
+        Payroll payroll = buildPayroll(
+                employee,
+                salary,
+                leaves,
+                payMonth,
+                calculateWorkingDays(payMonth)
+        );
+
+        return payrollRepository.save(payroll);
+    }
+
+    /**
+     * Pure computation step of {@link #calculatePayroll}.
+     * All inputs are already loaded, so bulk runs can call this without
+     * touching the database; the returned entity is not yet persisted.
+     */
+    Payroll buildPayroll(Employee employee,
+                         SalaryStructure salary,
+                         List<LeaveRequest> leaves,
+                         YearMonth payMonth,
+                         int workingDays) {
+
         int totalLeaveDays = calculateLeaveDaysInMonth(leaves, payMonth);
 
         int unpaidLeaveDays =
                 Math.max(totalLeaveDays - FREE_LEAVE_DAYS_PER_MONTH, 0);
 
+        Payroll.PayrollBuilder payroll = Payroll.builder()
+                .employee(employee)
+                .payMonth(payMonth)
+                .department(employee.getDepartment())
+                .workingDays(workingDays)
+                .paidDays(workingDays - unpaidLeaveDays)
+                .lopDays(unpaidLeaveDays)
+                .status(PayrollStatus.GENERATED)
+                .processedDate(LocalDate.now());
+
+        try {
+            applyFixedPointAmounts(payroll, salary, workingDays, unpaidLeaveDays);
+        } catch (ArithmeticException ex) {
+            // Inputs not exact to the paisa, or out of long range
+            applyBigDecimalAmounts(payroll, salary, workingDays, unpaidLeaveDays);
+        }
+
+        return payroll.build();
+    }
+
+    /**
+     * Allocation-light path: scaled longs, one conversion per persisted amount.
+     */
+    void applyFixedPointAmounts(Payroll.PayrollBuilder payroll,
+                                SalaryStructure salary,
+                                int workingDays,
+                                int unpaidLeaveDays) {
+
+        FixedPointPayrollKernel.Amounts amounts = FixedPointPayrollKernel.compute(
+                FixedPointPayrollKernel.toScaled(salary.getBasicSalary(), 2),
+                FixedPointPayrollKernel.toScaled(salary.getHra(), 2),
+                FixedPointPayrollKernel.toScaled(salary.getAllowances(), 2),
+                percentHundredths(salary.getPfPercentage()),
+                percentHundredths(salary.getTaxPercentage()),
+                workingDays,
+                unpaidLeaveDays
+        );
+
+        payroll.grossSalary(FixedPointPayrollKernel.toAmount(amounts.gross()))
+                .pfAmount(FixedPointPayrollKernel.toAmount(amounts.pf()))
+                .taxAmount(FixedPointPayrollKernel.toAmount(amounts.tax()))
+                .leaveDeduction(FixedPointPayrollKernel.toAmount(amounts.leaveDeduction()))
+                .totalDeductions(FixedPointPayrollKernel.toAmount(amounts.totalDeductions()))
+                .netSalary(FixedPointPayrollKernel.toAmount(amounts.net()));
+    }
+
+    /**
+     * Reference BigDecimal path; also used whenever the fixed-point path
+     * cannot represent the inputs exactly.
+     */
+    void applyBigDecimalAmounts(Payroll.PayrollBuilder payroll,
+                                SalaryStructure salary,
+                                int workingDays,
+                                int unpaidLeaveDays) {
+
+        BigDecimal grossSalary =
+                salary.getBasicSalary()
+                        .add(salary.getHra())
+                        .add(salary.getAllowances());
+
         BigDecimal perDaySalary =
                 grossSalary.divide(BigDecimal.valueOf(workingDays), 4, RoundingMode.HALF_UP);
 
@@ -74,26 +160,19 @@ public class PayrollCalculatorService {
         BigDecimal netSalary = grossSalary.subtract(totalDeductions)
                 .setScale(2, RoundingMode.HALF_UP);
 
-        Payroll payroll = Payroll.builder()
-                .employee(employee)
-                .payMonth(payMonth)
-                .grossSalary(grossSalary)
+        payroll.grossSalary(grossSalary)
                 .pfAmount(pf)
                 .taxAmount(tax)
                 .leaveDeduction(leaveDeduction)
                 .totalDeductions(totalDeductions)
-                .netSalary(netSalary)
-                .workingDays(workingDays)
-                .paidDays(workingDays - unpaidLeaveDays)
-                .lopDays(unpaidLeaveDays)
-                .status(PayrollStatus.GENERATED)
-                .processedDate(LocalDate.now())
-                .build();
+                .netSalary(netSalary);
+    }
 
-        return payrollRepository.save(payroll);
+    private static long percentHundredths(BigDecimal percentage) {
+        return percentage == null ? 0 : FixedPointPayrollKernel.toScaled(percentage, 2);
     }
 
-    private int calculateLeaveDaysInMonth(List<LeaveRequest> leaves, YearMonth payMonth) {
+    int calculateLeaveDaysInMonth(List<LeaveRequest> leaves, YearMonth payMonth) {
 
         if (leaves == null || leaves.isEmpty()) {
             return 0;
@@ -119,10 +198,11 @@ public class PayrollCalculatorService {
                         return 0;
                     }
 
-                    return (int) (ChronoUnit.DAYS.between(
+                    // Weekends and holidays inside a leave are not leave days
+                    return businessCalendarService.workingDaysBetween(
                             effectiveStart,
                             effectiveEnd
-                    ) + 1);
+                    );
                 })
                 .sum();
     }
@@ -135,25 +215,10 @@ public class PayrollCalculatorService {
         }
 
         return base.multiply(percentage)
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+                .divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP);
     }
 
-    private int calculateWorkingDays(YearMonth payMonth) {
-
-        LocalDate start = payMonth.atDay(1);
-        LocalDate end = payMonth.atEndOfMonth();
-
-        int workingDays = 0;
-
-        while (!start.isAfter(end)) {
-
-            if (start.getDayOfWeek().getValue() < 6) { // 1–5 = Mon–Fri
-                workingDays++;
-            }
-
-            start = start.plusDays(1);
-        }
-
-        return workingDays;
+    int calculateWorkingDays(YearMonth payMonth) {
+        return businessCalendarService.workingDaysInMonth(payMonth);
     }
 }
@@ -0,0 +1,310 @@
+package com.company.payroll.service.impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs payroll work for a month in parallel partitions.
+ * <p>
+ * CPU work runs on a configurable executor ({@code fork-join} or
+ * {@code virtual}). JDBC work must go through {@link #withDbPermit}, which is
+ * guarded by a separate, smaller permit pool so parallel partitions can never
+ * exhaust the connection pool. Results are always returned in input order,
+ * so output is identical to a serial run.
+ */
+@Component
+public class PayrollComputationEngine implements DisposableBean {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(PayrollComputationEngine.class);
+
+    private final ExecutorService executor;
+    private final Semaphore dbPermits;
+    private final int dbPermitLimit;
+    private final int partitionSize;
+
+    @Autowired
+    public PayrollComputationEngine(
+            @Value("${payroll.engine.executor:fork-join}") String executorType,
+            @Value("${payroll.engine.parallelism:0}") int parallelism,
+            @Value("${payroll.engine.partition-size:500}") int partitionSize,
+            @Value("${payroll.engine.db-permits:4}") int dbPermits,
+            ObjectProvider<DataSource> dataSource) {
+
+        this(executorType, parallelism, partitionSize,
+                boundByConnectionPool(dbPermits, dataSource.getIfAvailable()));
+    }
+
+    public PayrollComputationEngine(String executorType,
+                                    int parallelism,
+                                    int partitionSize,
+                                    int dbPermits) {
+
+        if (partitionSize < 1 || dbPermits < 1) {
+            throw new IllegalArgumentException("Partition size and db permits must be positive");
+        }
+
+        int threads = parallelism > 0
+                ? parallelism
+                : Runtime.getRuntime().availableProcessors();
+
+        this.executor = createExecutor(executorType, threads);
+        this.dbPermits = new Semaphore(dbPermits, true);
+        this.dbPermitLimit = dbPermits;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * Applies {@code task} to every item in parallel partitions.
+     * The result list has the same order as {@code items}.
+     */
+    public <T, R> List<R> computeAll(List<T> items, Function<T, R> task) {
+
+        List<List<R>> partitions = mapPartitions(items, partitionSize, partition -> {
+            List<R> results = new ArrayList<>(partition.size());
+            for (T item : partition) {
+                results.add(task.apply(item));
+            }
+            return results;
+        });
+
+        List<R> results = new ArrayList<>(items.size());
+        partitions.forEach(results::addAll);
+        return results;
+    }
+
+    /**
+     * Splits {@code items} into partitions of {@code size} and runs
+     * {@code task} once per partition. One result per partition is
+     * returned, in partition order. The first failure is rethrown.
+     */
+    public <T, R> List<R> mapPartitions(List<T> items,
+                                        int size,
+                                        Function<List<T>, R> task) {
+
+        List<CompletableFuture<R>> futures = new ArrayList<>();
+
+        for (int from = 0; from < items.size(); from += size) {
+            List<T> partition = items.subList(from, Math.min(from + size, items.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(partition), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Applies {@code task} to each item in parallel and hands every result
+     * to {@code sink} on the calling thread as soon as it completes, in
+     * completion order. At most {@code maxInFlight} items are running or
+     * waiting for the sink at any time, and {@code items} is only advanced
+     * as slots free up, so it can be a lazily loaded cursor.
+     * <p>
+     * The first failure (task or sink) cancels outstanding tasks and is
+     * rethrown. Returns the number of results delivered.
+     */
+    public <T, R> int forEachCompleted(Iterator<T> items,
+                                       int maxInFlight,
+                                       Function<T, R> task,
+                                       Consumer<R> sink) {
+
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+
+        CompletionService<R> completion = new ExecutorCompletionService<>(executor);
+        Set<Future<R>> pending = new HashSet<>();
+        int delivered = 0;
+
+        try {
+            while (!pending.isEmpty() || items.hasNext()) {
+
+                while (pending.size() < maxInFlight && items.hasNext()) {
+                    T item = items.next();
+                    pending.add(completion.submit(() -> task.apply(item)));
+                }
+
+                Future<R> done = completion.take();
+                pending.remove(done);
+                sink.accept(resultOf(done));
+                delivered++;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for results", ex);
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+
+        return delivered;
+    }
+
+    /**
+     * Runs JDBC work while holding one of the database permits.
+     */
+    public <R> R withDbPermit(Supplier<R> work) {
+
+        acquirePermit();
+        try {
+            return work.get();
+        } finally {
+            dbPermits.release();
+        }
+    }
+
+    public void runWithDbPermit(Runnable work) {
+        withDbPermit(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Database permits in effect, after bounding by the connection pool.
+     */
+    int dbPermitLimit() {
+        return dbPermitLimit;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /* ================= HELPERS ================= */
+
+    /**
+     * Waiting for a permit blocks a worker thread. Inside a fork-join pool
+     * the wait is reported as a managed block so the pool can keep its
+     * CPU parallelism with a compensating thread.
+     */
+    private void acquirePermit() {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private boolean acquired;
+
+                @Override
+                public boolean block() throws InterruptedException {
+                    if (!acquired) {
+                        dbPermits.acquire();
+                        acquired = true;
+                    }
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return acquired || (acquired = dbPermits.tryAcquire());
+                }
+            });
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database permit", ex);
+        }
+    }
+
+    private static <R> R resultOf(Future<R> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(ex.getCause());
+        }
+    }
+
+    private static ExecutorService createExecutor(String executorType, int threads) {
+
+        if ("virtual".equalsIgnoreCase(executorType)) {
+            try {
+                // Resolved reflectively so the build keeps targeting Java 17.
+                return (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                log.warn("Virtual threads are not available on this JVM, using a fork-join pool");
+            }
+        } else if (!"fork-join".equalsIgnoreCase(executorType)) {
+            throw new IllegalArgumentException("Unknown payroll executor type: " + executorType);
+        }
+
+        return new ForkJoinPool(threads);
+    }
+
+    /**
+     * A permit holder can need two connections at once: its chunk transaction
+     * and the REQUIRES_NEW insert of a missing month summary row. With more
+     * than half the pool handed out as permits, every holder could sit on one
+     * connection waiting for a second. Looks through wrappers (the statement
+     * counting proxy) for the Hikari pool.
+     */
+    private static int boundByConnectionPool(int dbPermits, DataSource dataSource) {
+
+        HikariDataSource hikari = unwrapHikari(dataSource);
+        int bounded = hikari != null ? Math.max(hikari.getMaximumPoolSize() / 2, 1) : dbPermits;
+
+        if (dbPermits > bounded) {
+            log.warn("payroll.engine.db-permits={} would exhaust the connection pool of {}, using {}",
+                    dbPermits, hikari.getMaximumPoolSize(), bounded);
+            return bounded;
+        }
+
+        return dbPermits;
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+
+        if (dataSource == null) {
+            return null;
+        }
+
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class)
+                    : null;
+        } catch (SQLException ex) {
+            log.warn("Could not look up the connection pool behind {}: {}", dataSource, ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.PayrollResponse;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.repository.PayrollRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Get-or-create of a single employee's payroll, safe to call concurrently.
+ * <p>
+ * Callers asking for the same employee and month while a generation is in
+ * flight wait for it and get its response instead of racing it. The
+ * generation commits before anyone is answered, so every caller sees the
+ * stored row. A writer this process cannot see (another instance, a month
+ * run chunk) is caught by the (employee_id, pay_month) unique constraint:
+ * the losing insert rolls back and the winner's payroll is returned.
+ */
+@Service
+public class PayrollGenerationService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(PayrollGenerationService.class);
+
+    private final PayrollRepository payrollRepository;
+    private final PayrollCalculatorService payrollCalculatorService;
+    private final PayrollMonthSummaryService payrollMonthSummaryService;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<Key, CompletableFuture<PayrollResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public PayrollGenerationService(PayrollRepository payrollRepository,
+                                    PayrollCalculatorService payrollCalculatorService,
+                                    PayrollMonthSummaryService payrollMonthSummaryService,
+                                    PlatformTransactionManager transactionManager) {
+
+        this.payrollRepository = payrollRepository;
+        this.payrollCalculatorService = payrollCalculatorService;
+        this.payrollMonthSummaryService = payrollMonthSummaryService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * The employee's payroll of the month, calculated and stored on first request.
+     */
+    public PayrollResponse getOrGenerate(Long employeeId, YearMonth payMonth) {
+
+        Key key = new Key(employeeId, payMonth);
+        CompletableFuture<PayrollResponse> mine = new CompletableFuture<>();
+        CompletableFuture<PayrollResponse> running = inFlight.putIfAbsent(key, mine);
+
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            PayrollResponse response = generate(employeeId, payMonth);
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private PayrollResponse generate(Long employeeId, YearMonth payMonth) {
+        try {
+            return newTransaction.execute(status -> payrollRepository
+                    .findWithEmployee(employeeId, payMonth)
+                    .map(PayrollResponse::from)
+                    .orElseGet(() -> {
+                        Payroll created = payrollCalculatorService.calculatePayroll(employeeId, payMonth);
+                        payrollMonthSummaryService.recordCreated(List.of(created));
+                        return PayrollResponse.from(created);
+                    }));
+        } catch (DataIntegrityViolationException ex) {
+
+            // Another writer stored this payroll first; theirs is the answer
+            PayrollResponse existing = newTransaction.execute(status -> payrollRepository
+                    .findWithEmployee(employeeId, payMonth)
+                    .map(PayrollResponse::from)
+                    .orElse(null));
+
+            if (existing == null) {
+                throw ex;
+            }
+
+            log.info("Payroll of employee {} for {} was generated concurrently; returning payroll {}",
+                    employeeId, payMonth, existing.payrollId());
+            return existing;
+        }
+    }
+
+    private static PayrollResponse await(CompletableFuture<PayrollResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record Key(Long employeeId, YearMonth payMonth) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.company.payroll.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters of the payroll, payslip, leave and onboarding paths.
+ * <p>
+ * Timers carry an {@code outcome} tag (success / error). Histogram buckets
+ * for every {@code payroll.*} distribution are switched on in
+ * {@code management.metrics.distribution}, so p50/p95/p99 are computed
+ * (and aggregated across instances) with {@code histogram_quantile}.
+ */
+@Component
+public class PayrollMetrics {
+
+    static final String PAYROLL_CALCULATE = "payroll.calculate";
+    static final String PAYROLL_RUN_CHUNK = "payroll.run.chunk";
+    static final String PAYSLIP_RENDER = "payroll.payslip.render";
+    static final String LEAVE_APPLY = "payroll.leave.apply";
+    static final String LEAVE_APPROVE = "payroll.leave.approve";
+    static final String LEAVE_DECIDE = "payroll.leave.decide";
+    static final String EMPLOYEE_ONBOARD = "payroll.employee.onboard";
+    static final String EMPLOYEE_IMPORT_CHUNK = "payroll.employee.import.chunk";
+
+    static final String SOURCE_SINGLE = "single";
+    static final String SOURCE_RUN = "run";
+
+    private final MeterRegistry registry;
+    private final DistributionSummary payslipSize;
+
+    public PayrollMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.payslipSize = DistributionSummary.builder("payroll.payslip.size")
+                .description("Size of rendered payslip PDFs")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Runs {@code action} and records its duration under {@code timer}.
+     */
+    public <T> T time(String timer, Supplier<T> action) {
+
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(timer)
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    public void time(String timer, Runnable action) {
+        time(timer, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void recordRunChunk(long nanos) {
+        Timer.builder(PAYROLL_RUN_CHUNK)
+                .description("Compute and commit of one payroll run chunk")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPayslipSize(int bytes) {
+        payslipSize.record(bytes);
+    }
+
+    public void payrollsGenerated(String source, int count) {
+        payrollCounter("payroll.generated", source).increment(count);
+    }
+
+    /**
+     * Counts payrolls saved in the current transaction once it commits, so a
+     * rolled back insert (a lost race for the same employee and month) is
+     * not counted. Outside a transaction they are counted at once.
+     */
+    public void payrollsGeneratedAfterCommit(String source, int count) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            payrollsGenerated(source, count);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                payrollsGenerated(source, count);
+            }
+        });
+    }
+
+    public void payrollsFailed(String source, int count) {
+        payrollCounter("payroll.failed", source).increment(count);
+    }
+
+    private Counter payrollCounter(String name, String source) {
+        return Counter.builder(name)
+                .tag("source", source)
+                .register(registry);
+    }
+}
@@ -0,0 +1,237 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.PayrollMonthSummaryResponse;
+import com.company.payroll.dto.PayrollSummaryRow;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.PayrollMonthSummary;
+import com.company.payroll.entity.enums.PayrollStatus;
+import com.company.payroll.repository.PayrollMonthSummaryRepository;
+import com.company.payroll.repository.PayrollRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@link PayrollMonthSummary}.
+ * <p>
+ * Writers call {@link #recordCreated} / {@link #recordStatusChange} inside
+ * the transaction that saves the payroll, so the totals commit or roll back
+ * with it. Each department row is changed by a relative UPDATE, which takes
+ * the row lock and never loses a concurrent increment. A missing row is
+ * inserted first in its own short transaction; losing that insert race to
+ * another writer is harmless. Rows are always updated in department order
+ * so writers touching several departments cannot deadlock.
+ */
+@Service
+public class PayrollMonthSummaryService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(PayrollMonthSummaryService.class);
+
+    private final PayrollMonthSummaryRepository summaryRepository;
+    private final PayrollRepository payrollRepository;
+    private final TransactionTemplate newTransaction;
+
+    public PayrollMonthSummaryService(PayrollMonthSummaryRepository summaryRepository,
+                                      PayrollRepository payrollRepository,
+                                      PlatformTransactionManager transactionManager) {
+
+        this.summaryRepository = summaryRepository;
+        this.payrollRepository = payrollRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Adds newly inserted payrolls to their month and department totals.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Payroll> payrolls) {
+
+        SortedMap<Key, Delta> deltas = new TreeMap<>();
+
+        for (Payroll payroll : payrolls) {
+            deltas.computeIfAbsent(Key.of(payroll), k -> new Delta())
+                    .add(payroll);
+        }
+
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Moves one payroll from the {@code from} status count to its current one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Payroll payroll, PayrollStatus from) {
+
+        if (from == payroll.getStatus()) {
+            return;
+        }
+
+        Delta delta = new Delta();
+        delta.count(from, -1);
+        delta.count(payroll.getStatus(), 1);
+
+        apply(Key.of(payroll), delta);
+    }
+
+    @Transactional(readOnly = true)
+    public PayrollMonthSummaryResponse getMonthSummary(YearMonth payMonth) {
+
+        List<PayrollSummaryRow> departments = summaryRepository
+                .findByPayMonthOrderByDepartment(payMonth)
+                .stream()
+                .map(PayrollSummaryRow::from)
+                .toList();
+
+        PayrollSummaryRow total = departments.stream()
+                .reduce(PayrollSummaryRow.zero(), PayrollSummaryRow::plus);
+
+        return new PayrollMonthSummaryResponse(payMonth.toString(), total, departments);
+    }
+
+    /**
+     * Recomputes the month from the payroll rows and overwrites the stored
+     * totals. The month's summary rows are locked first, so increments
+     * from writers that commit meanwhile are applied on top of the rebuilt
+     * values rather than overwritten.
+     */
+    @Transactional
+    public PayrollMonthSummaryResponse rebuild(YearMonth payMonth) {
+
+        Map<String, PayrollMonthSummary> existing = summaryRepository.lockByPayMonth(payMonth)
+                .stream()
+                .collect(Collectors.toMap(PayrollMonthSummary::getDepartment, Function.identity()));
+
+        List<PayrollMonthSummary> rebuilt = new ArrayList<>();
+        int corrected = 0;
+
+        for (PayrollSummaryRow actual : payrollRepository.summarizeByDepartment(payMonth)) {
+
+            PayrollMonthSummary summary = existing.remove(actual.department());
+            if (summary == null) {
+                summary = PayrollMonthSummary.empty(payMonth, actual.department());
+            }
+
+            if (!PayrollSummaryRow.from(summary).equals(actual)) {
+                corrected++;
+            }
+
+            summary.setGeneratedCount(actual.generatedCount());
+            summary.setPaidCount(actual.paidCount());
+            summary.setGrossTotal(actual.grossTotal());
+            summary.setPfTotal(actual.pfTotal());
+            summary.setTaxTotal(actual.taxTotal());
+            summary.setLopTotal(actual.lopTotal());
+            summary.setNetTotal(actual.netTotal());
+            rebuilt.add(summary);
+        }
+
+        summaryRepository.saveAll(rebuilt);
+        summaryRepository.deleteAll(existing.values());
+
+        log.info("Payroll summary {} rebuilt: {} departments, {} corrected, {} removed",
+                payMonth, rebuilt.size(), corrected, existing.size());
+
+        return getMonthSummary(payMonth);
+    }
+
+    private void apply(Key key, Delta delta) {
+
+        if (increment(key, delta) > 0) {
+            return;
+        }
+
+        ensureRow(key);
+
+        if (increment(key, delta) == 0) {
+            throw new IllegalStateException("Payroll summary row missing for " + key);
+        }
+    }
+
+    private int increment(Key key, Delta delta) {
+        return summaryRepository.increment(
+                key.payMonth(),
+                key.department(),
+                delta.generated,
+                delta.paid,
+                delta.gross,
+                delta.pf,
+                delta.tax,
+                delta.lop,
+                delta.net
+        );
+    }
+
+    /**
+     * Inserts an all-zero row in a separate transaction, so it is visible
+     * to (and lockable by) every writer regardless of how theirs ends.
+     */
+    private void ensureRow(Key key) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    summaryRepository.saveAndFlush(
+                            PayrollMonthSummary.empty(key.payMonth(), key.department())));
+        } catch (DataIntegrityViolationException ex) {
+            // Another writer created it first
+        }
+    }
+
+    private record Key(YearMonth payMonth, String department) implements Comparable<Key> {
+
+        static Key of(Payroll payroll) {
+            return new Key(payroll.getPayMonth(), payroll.getDepartment());
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byMonth = payMonth.compareTo(other.payMonth);
+            return byMonth != 0 ? byMonth : department.compareTo(other.department);
+        }
+    }
+
+    private static final class Delta {
+
+        private long generated;
+        private long paid;
+        private BigDecimal gross = BigDecimal.ZERO;
+        private BigDecimal pf = BigDecimal.ZERO;
+        private BigDecimal tax = BigDecimal.ZERO;
+        private BigDecimal lop = BigDecimal.ZERO;
+        private BigDecimal net = BigDecimal.ZERO;
+
+        void add(Payroll payroll) {
+            count(payroll.getStatus(), 1);
+            gross = gross.add(payroll.getGrossSalary());
+            pf = pf.add(payroll.getPfAmount());
+            tax = tax.add(payroll.getTaxAmount());
+            lop = lop.add(payroll.getLeaveDeduction());
+            net = net.add(payroll.getNetSalary());
+        }
+
+        void count(PayrollStatus status, int sign) {
+            if (status == PayrollStatus.PAID) {
+                paid += sign;
+            } else {
+                generated += sign;
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.ExportFormat;
+import com.company.payroll.dto.PayrollRegisterRow;
+import com.company.payroll.repository.PayrollRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.stream.Stream;
+
+/**
+ * Streams a month's payroll register as CSV or NDJSON.
+ * <p>
+ * Rows come from a forward-only JPA stream of unmanaged projections and are
+ * written one at a time, so memory use does not depend on the row count.
+ */
+@Service
+public class PayrollRegisterExportService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(PayrollRegisterExportService.class);
+
+    static final String CSV_HEADER = String.join(",",
+            "payroll_id", "employee_id", "emp_code", "employee_name", "department",
+            "designation", "pay_month", "working_days", "paid_days", "lop_days",
+            "gross_salary", "pf_amount", "tax_amount", "leave_deduction",
+            "total_deductions", "net_salary", "status", "processed_date");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PayrollRepository payrollRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PayrollRegisterExportService(PayrollRepository payrollRepository,
+                                        ObjectMapper objectMapper,
+                                        PlatformTransactionManager transactionManager) {
+
+        this.payrollRepository = payrollRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes the register to {@code out} and flushes it; the stream is left open.
+     */
+    public void write(YearMonth payMonth, ExportFormat format, OutputStream out) throws IOException {
+
+        long start = System.nanoTime();
+
+        try {
+            long rows = readOnlyTransaction.execute(status -> {
+                try (Stream<PayrollRegisterRow> register = payrollRepository.streamRegister(payMonth)) {
+                    return switch (format) {
+                        case CSV -> writeCsv(register, out);
+                        case NDJSON -> writeNdjson(register, out);
+                    };
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+
+            log.info("Payroll register {} ({}): {} rows in {} ms",
+                    payMonth, format, rows, (System.nanoTime() - start) / 1_000_000);
+        } catch (UncheckedIOException ex) {
+            // Client went away or the socket failed
+            throw ex.getCause();
+        }
+    }
+
+    private long writeCsv(Stream<PayrollRegisterRow> register, OutputStream out) throws IOException {
+
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long[] rows = {0};
+
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        register.forEach(row -> {
+            try {
+                writer.write(csvLine(row));
+                rows[0]++;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        writer.flush();
+        return rows[0];
+    }
+
+    private long writeNdjson(Stream<PayrollRegisterRow> register, OutputStream out) throws IOException {
+
+        long[] rows = {0};
+
+        try (SequenceWriter sequence = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+
+            register.forEach(row -> {
+                try {
+                    sequence.write(row);
+                    rows[0]++;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+
+        if (rows[0] > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return rows[0];
+    }
+
+    static String csvLine(PayrollRegisterRow row) {
+        return new StringBuilder(256)
+                .append(row.payrollId()).append(',')
+                .append(row.employeeId()).append(',')
+                .append(text(row.empCode())).append(',')
+                .append(text(row.employeeName())).append(',')
+                .append(text(row.department())).append(',')
+                .append(text(row.designation())).append(',')
+                .append(row.payMonth()).append(',')
+                .append(row.workingDays()).append(',')
+                .append(row.paidDays()).append(',')
+                .append(row.lopDays()).append(',')
+                .append(row.grossSalary().toPlainString()).append(',')
+                .append(row.pfAmount().toPlainString()).append(',')
+                .append(row.taxAmount().toPlainString()).append(',')
+                .append(row.leaveDeduction().toPlainString()).append(',')
+                .append(row.totalDeductions().toPlainString()).append(',')
+                .append(row.netSalary().toPlainString()).append(',')
+                .append(row.status()).append(',')
+                .append(row.processedDate() != null ? row.processedDate() : "")
+                .append('\n')
+                .toString();
+    }
+
+    /**
+     * RFC 4180 quoting. Values a spreadsheet would evaluate as a formula
+     * are prefixed with an apostrophe.
+     */
+    static String text(String value) {
+
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
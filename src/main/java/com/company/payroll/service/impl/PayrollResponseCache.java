@@ -0,0 +1,75 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.PayrollResponse;
+import com.company.payroll.event.PayrollChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the employee payroll view, keyed by employee and month.
+ * <p>
+ * Bounded by entry count and time since write. Any payroll insert, update
+ * or delete evicts its key after commit; concurrent loads of the same key
+ * share one database read. Only found payrolls are cached.
+ * <p>
+ * Metrics: {@code cache.gets/puts/evictions{cache=payrollResponse}} and
+ * {@code payroll.response.cache.hit.ratio}.
+ */
+@Component
+public class PayrollResponseCache {
+
+    static final String CACHE_NAME = "payrollResponse";
+
+    private final Cache<Key, PayrollResponse> cache;
+
+    public PayrollResponseCache(
+            @Value("${payroll.response-cache.max-size:50000}") long maxSize,
+            @Value("${payroll.response-cache.expire-after-write:30m}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        Gauge.builder("payroll.response.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of employee payroll lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response, calling {@code loader} on a miss.
+     * Exceptions from the loader propagate and nothing is cached.
+     */
+    public PayrollResponse get(Long employeeId, YearMonth payMonth, Supplier<PayrollResponse> loader) {
+        return cache.get(new Key(employeeId, payMonth), key -> loader.get());
+    }
+
+    public void evict(Long employeeId, YearMonth payMonth) {
+        cache.invalidate(new Key(employeeId, payMonth));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPayrollChanged(PayrollChangedEvent event) {
+        if (event.employeeId() != null) {
+            evict(event.employeeId(), event.payMonth());
+        }
+    }
+
+    private record Key(Long employeeId, YearMonth payMonth) {
+    }
+}
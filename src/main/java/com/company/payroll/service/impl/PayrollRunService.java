@@ -0,0 +1,515 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.PayrollRunChunkStats;
+import com.company.payroll.dto.PayrollRunFailure;
+import com.company.payroll.dto.PayrollRunProgress;
+import com.company.payroll.dto.PayrollRunResponse;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.LeaveRequest;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.PayrollRun;
+import com.company.payroll.entity.PayrollRunChunk;
+import com.company.payroll.entity.PayrollRunError;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.PayrollRunStatus;
+import com.company.payroll.exception.PayrollRunNotFoundException;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.LeaveRequestRepository;
+import com.company.payroll.repository.PayrollRepository;
+import com.company.payroll.repository.PayrollRunChunkRepository;
+import com.company.payroll.repository.PayrollRunErrorRepository;
+import com.company.payroll.repository.PayrollRunRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Organisation-wide payroll run for a single month.
+ * <p>
+ * All inputs are prefetched with a handful of bulk queries, payroll rows are
+ * computed in memory and persisted chunk by chunk, each chunk in its own
+ * transaction. Chunks run in parallel on the {@link PayrollComputationEngine};
+ * only the save holds a database permit. Employees that already have a
+ * payroll for the month are skipped.
+ * <p>
+ * Every run is tracked as a {@link PayrollRun} job. A chunk's payroll rows,
+ * its {@link PayrollRunChunk} record, its error rows and the job counters are
+ * committed together, so after a restart the run resumes from the last
+ * committed chunk instead of rescanning the payroll table.
+ */
+@Service
+@RequiredArgsConstructor
+public class PayrollRunService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(PayrollRunService.class);
+
+    private static final List<PayrollRunStatus> RESUMABLE =
+            List.of(PayrollRunStatus.RUNNING, PayrollRunStatus.FAILED);
+
+    private static final int MAX_REASON_LENGTH = 500;
+
+    private final EmployeeRepository employeeRepository;
+    private final SalaryStructureRepository salaryStructureRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final PayrollRepository payrollRepository;
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollRunChunkRepository payrollRunChunkRepository;
+    private final PayrollRunErrorRepository payrollRunErrorRepository;
+    private final PayrollCalculatorService payrollCalculatorService;
+    private final PayrollComputationEngine payrollComputationEngine;
+    private final PayrollMonthSummaryService payrollMonthSummaryService;
+    private final PayrollMetrics payrollMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Runs executing in this JVM; guards against resuming a live run twice.
+     * The guard is local to this instance: a second node sees a live run as
+     * RUNNING, exactly like one whose node died, and can resume it at the
+     * same time. Chunks then overlap; the (employee_id, pay_month) unique
+     * constraint keeps one payroll per employee, but the counters of both
+     * attempts are added to the run. Resume a run on one node only.
+     */
+    private final Set<Long> activeRuns = ConcurrentHashMap.newKeySet();
+
+    @Value("${payroll.run.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Starts a run for the month, or resumes the month's unfinished run.
+     */
+    public PayrollRunResponse runPayroll(YearMonth payMonth) {
+
+        PayrollRun run = payrollRunRepository
+                .findFirstByPayMonthAndStatusInOrderByIdDesc(payMonth, RESUMABLE)
+                .orElseGet(() -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    return payrollRunRepository.save(PayrollRun.builder()
+                            .payMonth(payMonth)
+                            .status(PayrollRunStatus.RUNNING)
+                            .chunkSize(chunkSize)
+                            .processedEmployees(0)
+                            .createdCount(0)
+                            .skippedCount(0)
+                            .failedCount(0)
+                            .startedAt(now)
+                            .attemptStartedAt(now)
+                            .processedAtAttemptStart(0)
+                            .build());
+                });
+
+        return execute(run.getId());
+    }
+
+    /**
+     * Resumes an interrupted or failed run from its last committed chunk.
+     * Only a run already executing in this JVM is refused; see {@link #activeRuns}.
+     */
+    public PayrollRunResponse resumeRun(Long runId) {
+
+        PayrollRun run = findRun(runId);
+
+        if (run.getStatus() == PayrollRunStatus.COMPLETED) {
+            throw new IllegalStateException("Payroll run " + runId + " is already completed");
+        }
+
+        return execute(runId);
+    }
+
+    public PayrollRunProgress getProgress(Long runId) {
+
+        PayrollRun run = findRun(runId);
+        PayrollRunChunkStats stats = payrollRunChunkRepository.findStatsByRunId(runId);
+
+        LocalDateTime until = run.getFinishedAt() != null ? run.getFinishedAt() : LocalDateTime.now();
+        long elapsedMillis = Duration.between(run.getAttemptStartedAt(), until).toMillis();
+        int processedThisAttempt = run.getProcessedEmployees() - run.getProcessedAtAttemptStart();
+
+        double rate = elapsedMillis > 0 ? processedThisAttempt * 1000.0 / elapsedMillis : 0;
+
+        Long eta = null;
+        if (run.getStatus() == PayrollRunStatus.COMPLETED) {
+            eta = 0L;
+        } else if (run.getTotalEmployees() != null && rate > 0) {
+            eta = (long) Math.ceil(
+                    Math.max(run.getTotalEmployees() - run.getProcessedEmployees(), 0) / rate);
+        }
+
+        return new PayrollRunProgress(
+                run.getId(),
+                run.getPayMonth().toString(),
+                run.getStatus().name(),
+                run.getTotalEmployees(),
+                run.getProcessedEmployees(),
+                run.getCreatedCount(),
+                run.getSkippedCount(),
+                run.getFailedCount(),
+                run.getCheckpointEmployeeId(),
+                stats.chunksCommitted(),
+                stats.averageChunkMillis(),
+                stats.slowestChunkMillis(),
+                rate,
+                eta,
+                run.getStartedAt(),
+                run.getFinishedAt(),
+                run.getLastError()
+        );
+    }
+
+    public List<PayrollRunFailure> getErrors(Long runId) {
+
+        findRun(runId);
+
+        return payrollRunErrorRepository.findByRunIdOrderByIdAsc(runId)
+                .stream()
+                .map(e -> new PayrollRunFailure(e.getEmployeeId(), e.getReason()))
+                .toList();
+    }
+
+    /* ================= RUN EXECUTION ================= */
+
+    private PayrollRunResponse execute(Long runId) {
+
+        if (!activeRuns.add(runId)) {
+            throw new IllegalStateException("Payroll run " + runId + " is already in progress");
+        }
+
+        try {
+            PayrollRun run = beginAttempt(runId);
+            processRemaining(run);
+            completeRun(runId);
+        } catch (RuntimeException ex) {
+            log.error("Payroll run {} failed", runId, ex);
+            failRun(runId, ex);
+            throw ex;
+        } finally {
+            activeRuns.remove(runId);
+        }
+
+        PayrollRun run = findRun(runId);
+
+        log.info("Payroll run {} for {} finished: {} created, {} skipped, {} failed",
+                runId, run.getPayMonth(), run.getCreatedCount(),
+                run.getSkippedCount(), run.getFailedCount());
+
+        return new PayrollRunResponse(
+                run.getId(),
+                run.getPayMonth().toString(),
+                run.getStatus().name(),
+                run.getTotalEmployees(),
+                run.getCreatedCount(),
+                run.getSkippedCount(),
+                run.getFailedCount(),
+                getErrors(runId)
+        );
+    }
+
+    private void processRemaining(PayrollRun run) {
+
+        YearMonth payMonth = run.getPayMonth();
+        long checkpoint = run.getCheckpointEmployeeId() != null ? run.getCheckpointEmployeeId() : 0L;
+
+        List<Employee> employees =
+                employeeRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(checkpoint);
+
+        if (run.getTotalEmployees() == null) {
+            transactionTemplate.executeWithoutResult(status ->
+                    payrollRunRepository.initTotalEmployees(run.getId(), employees.size()));
+        }
+
+        // Chunks committed after the checkpoint (they can finish out of order).
+        List<PayrollRunChunk> committed =
+                payrollRunChunkRepository.findByRunIdAndLastEmployeeIdGreaterThan(run.getId(), checkpoint);
+
+        List<Employee> remaining = employees.stream()
+                .filter(e -> committed.stream().noneMatch(c ->
+                        e.getId() >= c.getFirstEmployeeId() && e.getId() <= c.getLastEmployeeId()))
+                .toList();
+
+        if (remaining.isEmpty()) {
+            return;
+        }
+
+        Set<Long> alreadyGenerated =
+                payrollRepository.findEmployeeIdsByPayMonth(payMonth);
+
+        Map<Long, SalaryStructure> salaries = salaryStructureRepository
+                .findAllForActiveEmployees()
+                .stream()
+                .collect(Collectors.toMap(s -> s.getEmployee().getId(), Function.identity()));
+
+        Map<Long, List<LeaveRequest>> leavesByEmployee = leaveRequestRepository
+                .findAllLeavesForPayrollMonth(
+                        LeaveStatus.APPROVED,
+                        payMonth.atDay(1),
+                        payMonth.atEndOfMonth()
+                )
+                .stream()
+                .collect(Collectors.groupingBy(l -> l.getEmployee().getId()));
+
+        int workingDays = payrollCalculatorService.calculateWorkingDays(payMonth);
+
+        List<List<Employee>> chunks = new ArrayList<>();
+        for (int from = 0; from < remaining.size(); from += run.getChunkSize()) {
+            chunks.add(remaining.subList(from, Math.min(from + run.getChunkSize(), remaining.size())));
+        }
+
+        CheckpointTracker tracker = new CheckpointTracker(chunks);
+        List<Integer> chunkIndexes = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            chunkIndexes.add(i);
+        }
+
+        payrollComputationEngine.mapPartitions(chunkIndexes, 1, partition -> {
+            int index = partition.get(0);
+            long startNanos = System.nanoTime();
+
+            ChunkTally tally = new ChunkTally();
+            List<Payroll> payrolls = computeChunk(
+                    chunks.get(index), payMonth, workingDays, alreadyGenerated,
+                    salaries, leavesByEmployee, tally);
+
+            payrollComputationEngine.runWithDbPermit(() -> {
+                persistChunk(run.getId(), chunks.get(index), payrolls, tally, startNanos);
+
+                Long newCheckpoint = tracker.complete(index);
+                if (newCheckpoint != null) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            payrollRunRepository.advanceCheckpoint(run.getId(), newCheckpoint));
+                }
+            });
+            return index;
+        });
+    }
+
+    private List<Payroll> computeChunk(List<Employee> chunk,
+                                       YearMonth payMonth,
+                                       int workingDays,
+                                       Set<Long> alreadyGenerated,
+                                       Map<Long, SalaryStructure> salaries,
+                                       Map<Long, List<LeaveRequest>> leavesByEmployee,
+                                       ChunkTally tally) {
+
+        List<Payroll> payrolls = new ArrayList<>(chunk.size());
+
+        for (Employee employee : chunk) {
+
+            if (alreadyGenerated.contains(employee.getId())) {
+                tally.skipped++;
+                continue;
+            }
+
+            SalaryStructure salary = salaries.get(employee.getId());
+            if (salary == null) {
+                tally.fail(employee.getId(), "Salary structure not found");
+                continue;
+            }
+
+            try {
+                payrolls.add(payrollCalculatorService.buildPayroll(
+                        employee,
+                        salary,
+                        leavesByEmployee.getOrDefault(employee.getId(), Collections.emptyList()),
+                        payMonth,
+                        workingDays
+                ));
+            } catch (RuntimeException ex) {
+                tally.fail(employee.getId(), ex.getMessage());
+            }
+        }
+
+        return payrolls;
+    }
+
+    /**
+     * Saves a whole chunk together with its checkpoint in one transaction.
+     * If the chunk is rejected (for example a payroll was generated
+     * concurrently for one of its employees) the rows are retried one by one
+     * so a single bad row does not fail its neighbours; the checkpoint is
+     * then written on its own.
+     */
+    private void persistChunk(Long runId,
+                              List<Employee> chunk,
+                              List<Payroll> payrolls,
+                              ChunkTally tally,
+                              long startNanos) {
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                payrollRepository.saveAll(payrolls);
+                payrollMonthSummaryService.recordCreated(payrolls);
+                recordChunk(runId, chunk, payrolls.size(), tally, startNanos);
+            });
+            recordMetrics(payrolls.size(), tally, startNanos);
+            return;
+        } catch (DataAccessException ex) {
+            log.warn("Payroll chunk of {} rows rolled back, retrying row by row: {}",
+                    payrolls.size(), ex.getMessage());
+        }
+
+        for (Payroll payroll : payrolls) {
+
+            payroll.setId(null);
+            Long employeeId = payroll.getEmployee().getId();
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    payrollRepository.save(payroll);
+                    payrollMonthSummaryService.recordCreated(List.of(payroll));
+                });
+                tally.created++;
+            } catch (DataIntegrityViolationException ex) {
+                tally.skipped++;
+            } catch (DataAccessException ex) {
+                tally.fail(employeeId, ex.getMostSpecificCause().getMessage());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                recordChunk(runId, chunk, tally.created, tally, startNanos));
+        recordMetrics(tally.created, tally, startNanos);
+    }
+
+    /**
+     * Counted once the chunk has committed, so rolled back attempts are not.
+     */
+    private void recordMetrics(int created, ChunkTally tally, long startNanos) {
+        payrollMetrics.payrollsGenerated(PayrollMetrics.SOURCE_RUN, created);
+        payrollMetrics.payrollsFailed(PayrollMetrics.SOURCE_RUN, tally.failures.size());
+        payrollMetrics.recordRunChunk(System.nanoTime() - startNanos);
+    }
+
+    private void recordChunk(Long runId,
+                             List<Employee> chunk,
+                             int created,
+                             ChunkTally tally,
+                             long startNanos) {
+
+        PayrollRun run = payrollRunRepository.getReferenceById(runId);
+
+        payrollRunChunkRepository.save(PayrollRunChunk.builder()
+                .run(run)
+                .firstEmployeeId(chunk.get(0).getId())
+                .lastEmployeeId(chunk.get(chunk.size() - 1).getId())
+                .employeeCount(chunk.size())
+                .createdCount(created)
+                .skippedCount(tally.skipped)
+                .failedCount(tally.failures.size())
+                .durationMillis(Duration.ofNanos(System.nanoTime() - startNanos).toMillis())
+                .build());
+
+        payrollRunErrorRepository.saveAll(tally.failures.stream()
+                .map(f -> PayrollRunError.builder()
+                        .run(run)
+                        .employeeId(f.employeeId())
+                        .reason(truncate(f.reason()))
+                        .build())
+                .toList());
+
+        payrollRunRepository.incrementCounters(
+                runId,
+                chunk.size(),
+                created,
+                tally.skipped,
+                tally.failures.size()
+        );
+    }
+
+    private PayrollRun beginAttempt(Long runId) {
+        transactionTemplate.executeWithoutResult(status ->
+                payrollRunRepository.beginAttempt(runId, LocalDateTime.now()));
+        return findRun(runId);
+    }
+
+    private void completeRun(Long runId) {
+        transactionTemplate.executeWithoutResult(status ->
+                payrollRunRepository.finish(runId, PayrollRunStatus.COMPLETED, LocalDateTime.now(), null));
+    }
+
+    private void failRun(Long runId, RuntimeException cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    payrollRunRepository.finish(runId, PayrollRunStatus.FAILED, LocalDateTime.now(),
+                            truncate(String.valueOf(cause.getMessage()))));
+        } catch (RuntimeException ex) {
+            log.error("Could not mark payroll run {} as failed", runId, ex);
+        }
+    }
+
+    private PayrollRun findRun(Long runId) {
+        return payrollRunRepository.findById(runId)
+                .orElseThrow(() ->
+                        new PayrollRunNotFoundException("Payroll run not found with id " + runId));
+    }
+
+    private static String truncate(String reason) {
+        return reason != null && reason.length() > MAX_REASON_LENGTH
+                ? reason.substring(0, MAX_REASON_LENGTH)
+                : reason;
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static final class ChunkTally {
+        private int created;
+        private int skipped;
+        private final List<PayrollRunFailure> failures = new ArrayList<>();
+
+        private void fail(Long employeeId, String reason) {
+            failures.add(new PayrollRunFailure(employeeId, reason));
+        }
+    }
+
+    /**
+     * Chunks commit out of order; the checkpoint only advances over the
+     * contiguous prefix of committed chunks.
+     */
+    private static final class CheckpointTracker {
+        private final List<List<Employee>> chunks;
+        private final boolean[] done;
+        private int prefix;
+
+        private CheckpointTracker(List<List<Employee>> chunks) {
+            this.chunks = chunks;
+            this.done = new boolean[chunks.size()];
+        }
+
+        /**
+         * @return the new checkpoint employee id, or null if it did not move
+         */
+        private synchronized Long complete(int index) {
+            done[index] = true;
+
+            int before = prefix;
+            while (prefix < done.length && done[prefix]) {
+                prefix++;
+            }
+
+            if (prefix == before) {
+                return null;
+            }
+
+            List<Employee> last = chunks.get(prefix - 1);
+            return last.get(last.size() - 1).getId();
+        }
+    }
+}
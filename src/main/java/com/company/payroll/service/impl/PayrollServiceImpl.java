@@ -1,82 +1,83 @@
 package com.company.payroll.service.impl;
 
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.ExportFormat;
 import com.company.payroll.dto.HrPayrollView;
+import com.company.payroll.dto.PayrollMonthSummaryResponse;
 import com.company.payroll.dto.PayrollResponse;
-import com.company.payroll.entity.Employee;
+import com.company.payroll.dto.PayrollRunFailure;
+import com.company.payroll.dto.PayrollRunProgress;
+import com.company.payroll.dto.PayrollRunResponse;
 import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.enums.PayrollStatus;
 import com.company.payroll.exception.PayrollNotFoundException;
-import com.company.payroll.repository.EmployeeRepository;
 import com.company.payroll.repository.PayrollRepository;
 import com.company.payroll.service.PaySlipService;
 import com.company.payroll.service.PayrollService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.YearMonth;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PayrollServiceImpl implements PayrollService {
 
-    private final EmployeeRepository employeeRepository;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String NOT_GENERATED = "NOT_GENERATED";
+
     private final PayrollRepository payrollRepository;
     private final PaySlipService paySlipService;
-    private final PayrollCalculatorService payrollCalculatorService;
+    private final PayrollGenerationService payrollGenerationService;
+    private final PayrollRunService payrollRunService;
+    private final PayslipArchiveService payslipArchiveService;
+    private final PayslipPdfCache payslipPdfCache;
+    private final PayrollRegisterExportService payrollRegisterExportService;
+    private final PayrollResponseCache payrollResponseCache;
+    private final PayrollMonthSummaryService payrollMonthSummaryService;
 
     /**
      * HR Payroll View
      * <p>
-     * Returns all employees.
+     * One page of employees in id order, each with the month's payroll.
      * If payroll not generated for month → status NOT_GENERATED.
+     * {@code status} filters on a payroll status or on NOT_GENERATED.
      */
     @Override
-    public List<HrPayrollView> getHrPayrollView(YearMonth payMonth) {
-
-        List<Employee> employees = employeeRepository.findAll();
-        List<Payroll> payrolls = payrollRepository.findByPayMonth(payMonth);
-
-        Map<Long, Payroll> payrollMap = payrolls.stream()
-                .collect(Collectors.toMap(
-                        p -> p.getEmployee().getId(),
-                        p -> p
-                ));
-
-        return employees.stream()
-                .map(emp -> {
-
-                    Payroll payroll = payrollMap.get(emp.getId());
-
-                    if (payroll == null) {
-                        return new HrPayrollView(
-                                emp.getId(),
-                                emp.getFullName(),
-                                emp.getDesignation(),
-                                false,
-                                "NOT_GENERATED",
-                                null,
-                                null
-                        );
-                    }
-
-                    return new HrPayrollView(
-                            emp.getId(),
-                            emp.getFullName(),
-                            emp.getDesignation(),
-                            true,
-                            payroll.getStatus().name(),
-                            payroll.getGrossSalary(),
-                            payroll.getNetSalary()
-                    );
-                })
-                .toList();
+    public CursorPage<HrPayrollView> getHrPayrollView(YearMonth payMonth,
+                                                      String department,
+                                                      String status,
+                                                      String cursor,
+                                                      int size) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        boolean notGenerated = NOT_GENERATED.equalsIgnoreCase(status);
+        PayrollStatus payrollStatus = status == null || status.isBlank() || notGenerated
+                ? null
+                : PayrollStatus.valueOf(status.toUpperCase());
+
+        List<HrPayrollView> rows = payrollRepository.findHrPayrollView(
+                payMonth,
+                cursor == null || cursor.isBlank() ? 0L : Long.parseLong(cursor),
+                department == null || department.isBlank() ? null : department,
+                payrollStatus,
+                notGenerated,
+                Limit.of(size + 1)
+        );
+
+        return CursorPage.of(rows, size, row -> row.employeeId().toString());
     }
 
     /**
-     * generate PDF.
+     * generate PDF, served from the payslip cache while the payroll is unchanged.
      */
 
     @Override
@@ -89,35 +90,122 @@ public class PayrollServiceImpl implements PayrollService {
                                 "Payroll not yet generated. Please contact HR."
                         ));
 
-        return paySlipService.generatePayslipPdf(payroll);
+        return payslipPdfCache.get(payroll, paySlipService::generatePayslipPdf);
+    }
+
+    /**
+     * ZIP of every generated payslip of the month, written while streaming.
+     * Fails up front when there is nothing to export, since the status
+     * code cannot change once streaming has started.
+     */
+    @Override
+    public StreamingResponseBody exportPayslips(YearMonth payMonth) {
+
+        if (payslipArchiveService.countPayslips(payMonth) == 0) {
+            throw new PayrollNotFoundException(
+                    "No payslips generated for " + payMonth);
+        }
+
+        return out -> payslipArchiveService.writeMonthArchive(payMonth, out);
+    }
+
+    /**
+     * Full payroll breakdown of the month, streamed row by row.
+     */
+    @Override
+    public StreamingResponseBody exportPayrollRegister(YearMonth payMonth, ExportFormat format) {
+        return out -> payrollRegisterExportService.write(payMonth, format, out);
     }
 
     /**
-     * Generate payroll if not exists.
+     * Generate payroll if not exists. Idempotent: concurrent calls for the
+     * same employee and month all get the one stored payroll.
      */
     @Override
     public PayrollResponse generatePayroll(Long employeeId, YearMonth payMonth) {
-        Payroll payroll = payrollRepository
-                .findByEmployeeIdAndPayMonth(employeeId, payMonth)
-                .orElseGet(() -> {
-                    //First time → create & save
-                    return payrollCalculatorService.calculatePayroll(employeeId, payMonth);
-                });
-        return PayrollResponse.from(payroll);
+        return payrollGenerationService.getOrGenerate(employeeId, payMonth);
     }
 
     /**
-     * Employee view.
-     * If payroll not generated → throw error.
+     * HR status change (GENERATED → PAID). Goes through the entity so the
+     * change event fires and cached views are evicted after commit.
      */
     @Override
-    public PayrollResponse getEmployeePayroll(Long employeeId, YearMonth payMonth) {
+    @Transactional
+    public PayrollResponse updatePayrollStatus(Long payrollId, PayrollStatus status) {
 
-        Payroll payroll = payrollRepository
-                .findByEmployeeIdAndPayMonth(employeeId, payMonth)
+        Payroll payroll = payrollRepository.findById(payrollId)
                 .orElseThrow(() ->
-                        new IllegalStateException("Payroll not generated yet"));
+                        new PayrollNotFoundException("Payroll not found: " + payrollId));
+
+        if (payroll.getStatus() == status) {
+            return PayrollResponse.from(payroll);
+        }
+
+        if (payroll.getStatus() == PayrollStatus.PAID) {
+            throw new IllegalStateException("Payroll " + payrollId + " is already paid");
+        }
+
+        PayrollStatus previous = payroll.getStatus();
+        payroll.setStatus(status);
+        payrollMonthSummaryService.recordStatusChange(payroll, previous);
 
         return PayrollResponse.from(payroll);
     }
+
+    /**
+     * Dashboard totals of the month, one row per department.
+     */
+    @Override
+    public PayrollMonthSummaryResponse getPayrollSummary(YearMonth payMonth) {
+        return payrollMonthSummaryService.getMonthSummary(payMonth);
+    }
+
+    /**
+     * Reconciliation: recompute the month's summary from the payroll rows.
+     */
+    @Override
+    public PayrollMonthSummaryResponse rebuildPayrollSummary(YearMonth payMonth) {
+        return payrollMonthSummaryService.rebuild(payMonth);
+    }
+
+    /**
+     * Month-end run for every active employee.
+     * Already generated payrolls are skipped, never recalculated.
+     * An unfinished run for the same month is resumed instead of restarted.
+     */
+    @Override
+    public PayrollRunResponse runPayroll(YearMonth payMonth) {
+        return payrollRunService.runPayroll(payMonth);
+    }
+
+    @Override
+    public PayrollRunResponse resumePayrollRun(Long runId) {
+        return payrollRunService.resumeRun(runId);
+    }
+
+    @Override
+    public PayrollRunProgress getPayrollRunProgress(Long runId) {
+        return payrollRunService.getProgress(runId);
+    }
+
+    @Override
+    public List<PayrollRunFailure> getPayrollRunErrors(Long runId) {
+        return payrollRunService.getErrors(runId);
+    }
+
+    /**
+     * Employee view, served from the payroll response cache.
+     * If payroll not generated → throw error (not cached).
+     */
+    @Override
+    public PayrollResponse getEmployeePayroll(Long employeeId, YearMonth payMonth) {
+
+        return payrollResponseCache.get(employeeId, payMonth, () ->
+                payrollRepository
+                        .findWithEmployee(employeeId, payMonth)
+                        .map(PayrollResponse::from)
+                        .orElseThrow(() ->
+                                new IllegalStateException("Payroll not generated yet")));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.enums.PayrollStatus;
+import com.company.payroll.repository.PayrollRepository;
+import com.company.payroll.service.PaySlipService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes all payslips of a month as one ZIP archive.
+ * <p>
+ * Payrolls are read in keyset pages, PDFs are rendered in parallel on the
+ * {@link PayrollComputationEngine} and each entry is written as soon as its
+ * PDF is ready. Only one page of payrolls and at most {@code max-in-flight}
+ * PDFs are held in memory; the archive itself goes straight to the stream.
+ */
+@Service
+public class PayslipArchiveService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(PayslipArchiveService.class);
+
+    static final List<PayrollStatus> PRINTABLE =
+            List.of(PayrollStatus.GENERATED, PayrollStatus.PAID);
+
+    private final PayrollRepository payrollRepository;
+    private final PaySlipService paySlipService;
+    private final PayrollComputationEngine engine;
+    private final int pageSize;
+    private final int maxInFlight;
+
+    public PayslipArchiveService(
+            PayrollRepository payrollRepository,
+            PaySlipService paySlipService,
+            PayrollComputationEngine engine,
+            @Value("${payroll.payslip-archive.page-size:200}") int pageSize,
+            @Value("${payroll.payslip-archive.max-in-flight:16}") int maxInFlight) {
+
+        this.payrollRepository = payrollRepository;
+        this.paySlipService = paySlipService;
+        this.engine = engine;
+        this.pageSize = pageSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public long countPayslips(YearMonth payMonth) {
+        return payrollRepository.countByPayMonthAndStatusIn(payMonth, PRINTABLE);
+    }
+
+    /**
+     * Writes the archive to {@code out}. The stream is finished but not
+     * closed; that is left to the caller.
+     */
+    public void writeMonthArchive(YearMonth payMonth, OutputStream out) throws IOException {
+
+        long start = System.nanoTime();
+        ZipOutputStream zip = new ZipOutputStream(out);
+
+        // PDF content streams are already deflated
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        int written;
+        try {
+            written = engine.forEachCompleted(
+                    new PayrollCursor(payMonth),
+                    maxInFlight,
+                    payroll -> new PayslipEntry(
+                            entryName(payroll),
+                            paySlipService.generatePayslipPdf(payroll)),
+                    entry -> writeEntry(zip, entry));
+        } catch (UncheckedIOException ex) {
+            // Client went away or the socket failed
+            throw ex.getCause();
+        }
+
+        zip.finish();
+        zip.flush();
+
+        log.info("Payslip archive {}: {} payslips in {} ms",
+                payMonth, written, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    static String entryName(Payroll payroll) {
+        return "payslip-" + payroll.getEmployee().getEmpCode()
+                + "-" + payroll.getPayMonth() + ".pdf";
+    }
+
+    private static void writeEntry(ZipOutputStream zip, PayslipEntry entry) {
+        try {
+            zip.putNextEntry(new ZipEntry(entry.name()));
+            zip.write(entry.pdf());
+            zip.closeEntry();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record PayslipEntry(String name, byte[] pdf) {
+    }
+
+    /**
+     * Iterates a month's printable payrolls one keyset page at a time.
+     */
+    private class PayrollCursor implements Iterator<Payroll> {
+
+        private final YearMonth payMonth;
+        private List<Payroll> page = List.of();
+        private int index;
+        private long lastId;
+        private boolean exhausted;
+
+        PayrollCursor(YearMonth payMonth) {
+            this.payMonth = payMonth;
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            if (index < page.size()) {
+                return true;
+            }
+
+            if (exhausted) {
+                return false;
+            }
+
+            page = payrollRepository.findPageWithEmployee(
+                    payMonth, PRINTABLE, lastId, Limit.of(pageSize));
+            index = 0;
+            exhausted = page.size() < pageSize;
+
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+
+            return !page.isEmpty();
+        }
+
+        @Override
+        public Payroll next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.get(index++);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.event.PayrollChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Rendered payslip PDFs, bounded by total bytes (W-TinyLFU eviction).
+ * <p>
+ * Entries are stored per payroll id together with the payroll and employee
+ * {@code updatedAt} they were rendered from; a lookup only hits if both
+ * versions still match, so a changed payroll is never served stale even
+ * before its eviction event arrives. Payroll changes evict after commit.
+ * <p>
+ * Metrics: {@code cache.gets/puts/evictions{cache=payslipPdf}} and
+ * {@code payroll.payslip.cache.bytes}.
+ */
+@Component
+public class PayslipPdfCache {
+
+    static final String CACHE_NAME = "payslipPdf";
+
+    /**
+     * Rough per-entry cost of key, value holder and map node.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final Cache<Long, CachedPayslip> cache;
+
+    public PayslipPdfCache(
+            @Value("${payroll.payslip-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${payroll.payslip-cache.expire-after-access:24h}") Duration expireAfterAccess,
+            MeterRegistry meterRegistry) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, CachedPayslip entry) -> entry.pdf().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        Gauge.builder("payroll.payslip.cache.bytes", cache,
+                        c -> c.policy().eviction()
+                                .map(eviction -> eviction.weightedSize().orElse(0L))
+                                .orElse(0L))
+                .description("Weighted size of cached payslip PDFs")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached PDF for this version of the payroll, rendering
+     * and caching it on a miss.
+     */
+    public byte[] get(Payroll payroll, Function<Payroll, byte[]> renderer) {
+
+        LocalDateTime payrollVersion = payroll.getUpdatedAt();
+        LocalDateTime employeeVersion = payroll.getEmployee().getUpdatedAt();
+
+        CachedPayslip cached = cache.getIfPresent(payroll.getId());
+        if (cached != null && cached.matches(payrollVersion, employeeVersion)) {
+            return cached.pdf();
+        }
+
+        byte[] pdf = renderer.apply(payroll);
+        cache.put(payroll.getId(), new CachedPayslip(payrollVersion, employeeVersion, pdf));
+        return pdf;
+    }
+
+    public void evict(Long payrollId) {
+        cache.invalidate(payrollId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPayrollChanged(PayrollChangedEvent event) {
+        if (event.type() != PayrollChangedEvent.Type.CREATED) {
+            evict(event.payrollId());
+        }
+    }
+
+    private record CachedPayslip(LocalDateTime payrollVersion,
+                                 LocalDateTime employeeVersion,
+                                 byte[] pdf) {
+
+        boolean matches(LocalDateTime payroll, LocalDateTime employee) {
+            return Objects.equals(payrollVersion, payroll)
+                    && Objects.equals(employeeVersion, employee);
+        }
+    }
+}
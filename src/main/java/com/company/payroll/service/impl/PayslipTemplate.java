@@ -0,0 +1,417 @@
+package com.company.payroll.service.impl;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.layout.renderer.CellRenderer;
+import com.itextpdf.layout.renderer.DrawContext;
+import com.itextpdf.layout.renderer.IRenderer;
+import com.itextpdf.layout.renderer.ParagraphRenderer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Payslip layout, rendered once as a template.
+ * <p>
+ * The company header, table skeletons, borders and labels are laid out a
+ * single time into a template PDF, recording the box of every variable
+ * value. {@link #render} then copies the template and only writes the
+ * values into their boxes, with no layout pass. A value that does not fit
+ * its box on one line is rendered through the full layout instead
+ * ({@link #renderWithLayout}), which uses the very same composition.
+ */
+final class PayslipTemplate {
+
+    /**
+     * Variable values of a payslip.
+     */
+    enum Field {
+        MONTH_TITLE(true, 12, TextAlignment.CENTER),
+        EMPLOYEE_ID(false, 12, TextAlignment.LEFT),
+        DESIGNATION(false, 12, TextAlignment.LEFT),
+        EMPLOYEE_NAME(false, 12, TextAlignment.LEFT),
+        JOINING_DATE(false, 12, TextAlignment.LEFT),
+        GROSS_SALARY(false, 12, TextAlignment.LEFT),
+        WORKING_DAYS(false, 12, TextAlignment.LEFT),
+        LOP_DAYS(false, 12, TextAlignment.LEFT),
+        PAID_DAYS(false, 12, TextAlignment.LEFT),
+        BASIC(false, 12, TextAlignment.LEFT),
+        PF(false, 12, TextAlignment.LEFT),
+        TAX(false, 12, TextAlignment.LEFT),
+        LEAVE_DEDUCTION(false, 12, TextAlignment.LEFT),
+        TOTAL_EARNINGS(true, 12, TextAlignment.LEFT),
+        TOTAL_DEDUCTIONS(true, 12, TextAlignment.LEFT),
+        NET_SALARY(true, 14, TextAlignment.RIGHT);
+
+        private final boolean bold;
+        private final float fontSize;
+        private final TextAlignment alignment;
+
+        Field(boolean bold, float fontSize, TextAlignment alignment) {
+            this.bold = bold;
+            this.fontSize = fontSize;
+            this.alignment = alignment;
+        }
+    }
+
+    private static final Border CELL_BORDER = new SolidBorder(ColorConstants.BLACK, 0.5f);
+    private static final Color HEADER_BACKGROUND = ColorConstants.LIGHT_GRAY;
+
+    /**
+     * Placeholder with the height of one line of text, so a template box is
+     * exactly as tall as the filled-in value would make it.
+     */
+    private static final String PLACEHOLDER = "\u00a0";
+
+    /**
+     * Where a value goes: its box and the baseline of its text line.
+     */
+    private record Slot(Rectangle box, float baseline) {
+    }
+
+    private final byte[] templatePdf;
+    private final Map<Field, Slot> slots;
+
+    private PayslipTemplate(byte[] templatePdf, Map<Field, Slot> slots) {
+        this.templatePdf = templatePdf;
+        this.slots = slots;
+    }
+
+    static PayslipTemplate build() {
+
+        Map<Field, Slot> slots = new EnumMap<>(Field.class);
+        byte[] pdf = compose(field -> PLACEHOLDER, slots);
+
+        if (slots.size() != Field.values().length) {
+            throw new IllegalStateException("Payslip template is missing value slots");
+        }
+
+        return new PayslipTemplate(pdf, slots);
+    }
+
+    /**
+     * Fills the template; falls back to the full layout when a value
+     * would overflow its box.
+     */
+    byte[] render(Map<Field, String> values) {
+
+        PdfFont regular = standardFont(StandardFonts.HELVETICA);
+        PdfFont bold = standardFont(StandardFonts.HELVETICA_BOLD);
+        Map<Field, String> drawn = new EnumMap<>(Field.class);
+
+        for (Field field : Field.values()) {
+            PdfFont font = field.bold ? bold : regular;
+            String text = drawnText(font, values.get(field));
+            if (font.getWidth(text, field.fontSize) > slots.get(field).box().getWidth()) {
+                return renderWithLayout(values);
+            }
+            drawn.put(field, text);
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(templatePdf.length + 1024);
+
+        try (PdfDocument pdf = new PdfDocument(
+                new PdfReader(new ByteArrayInputStream(templatePdf)),
+                new PdfWriter(baos))) {
+
+            PdfCanvas canvas = new PdfCanvas(pdf.getFirstPage());
+            for (Field field : Field.values()) {
+                writeValue(canvas, field.bold ? bold : regular, field, drawn.get(field));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return baos.toByteArray();
+    }
+
+    /**
+     * Full layout with the values in place, for values that wrap.
+     */
+    static byte[] renderWithLayout(Map<Field, String> values) {
+        return compose(values::get, null);
+    }
+
+    /**
+     * The text the layout draws for {@code value}: characters the font has
+     * no glyph for are dropped and the line's leading whitespace is trimmed,
+     * so "₹ 100.00" in Helvetica starts with the 1.
+     */
+    private static String drawnText(PdfFont font, String value) {
+
+        StringBuilder text = new StringBuilder(value.length());
+        value.codePoints().filter(font::containsGlyph).forEach(text::appendCodePoint);
+
+        int start = 0;
+        while (start < text.length() && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        return text.substring(start);
+    }
+
+    private void writeValue(PdfCanvas canvas, PdfFont font, Field field, String text) {
+
+        Rectangle box = slots.get(field).box();
+        float width = font.getWidth(text, field.fontSize);
+
+        float x = switch (field.alignment) {
+            case CENTER -> box.getX() + (box.getWidth() - width) / 2;
+            case RIGHT -> box.getRight() - width;
+            default -> box.getX();
+        };
+        canvas.beginText()
+                .setFontAndSize(font, field.fontSize)
+                .moveText(x, slots.get(field).baseline())
+                .showText(text)
+                .endText();
+    }
+
+    /* ================= LAYOUT ================= */
+
+    private interface Values {
+        String get(Field field);
+    }
+
+    /**
+     * Lays out the payslip. With {@code slots} set, every value element
+     * records its slot there instead of drawing its text.
+     */
+    private static byte[] compose(Values values, Map<Field, Slot> slots) {
+
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+
+            PdfDocument pdf = new PdfDocument(new PdfWriter(baos));
+            Document document = new Document(pdf);
+
+            PdfFont regular = standardFont(StandardFonts.HELVETICA);
+            PdfFont bold = standardFont(StandardFonts.HELVETICA_BOLD);
+            Composer c = new Composer(values, slots, regular, bold);
+
+            // ================= HEADER =================
+
+            document.add(new Paragraph("TechNova Systems Pvt Ltd")
+                    .setFont(bold)
+                    .setFontSize(16)
+                    .setTextAlignment(TextAlignment.CENTER));
+
+            document.add(new Paragraph("Bangalore, India")
+                    .setTextAlignment(TextAlignment.CENTER));
+
+            document.add(c.paragraph(Field.MONTH_TITLE)
+                    .setMarginBottom(20));
+
+            // ================= EMPLOYEE DETAILS TABLE =================
+
+            Table empTable = fourColumnTable();
+
+            empTable.addCell(c.label("Employee ID"));
+            empTable.addCell(c.value(Field.EMPLOYEE_ID));
+            empTable.addCell(c.label("Designation"));
+            empTable.addCell(c.value(Field.DESIGNATION));
+
+            empTable.addCell(c.label("Employee Name"));
+            empTable.addCell(c.value(Field.EMPLOYEE_NAME));
+            empTable.addCell(c.label("Date of Joining"));
+            empTable.addCell(c.value(Field.JOINING_DATE));
+
+            document.add(empTable.setMarginBottom(15));
+
+            // ================= SUMMARY TABLE =================
+
+            Table summaryTable = fourColumnTable();
+
+            summaryTable.addCell(c.label("Gross Salary"));
+            summaryTable.addCell(c.value(Field.GROSS_SALARY));
+
+            summaryTable.addCell(c.label("Working Days"));
+            summaryTable.addCell(c.value(Field.WORKING_DAYS));
+
+            summaryTable.addCell(c.label("LOP Days"));
+            summaryTable.addCell(c.value(Field.LOP_DAYS));
+
+            summaryTable.addCell(c.label("Paid Days"));
+            summaryTable.addCell(c.value(Field.PAID_DAYS));
+
+            document.add(summaryTable.setMarginBottom(15));
+
+            // ================= EARNINGS & DEDUCTIONS =================
+
+            Table salaryTable = fourColumnTable();
+
+            salaryTable.addHeaderCell(c.header("Earnings"));
+            salaryTable.addHeaderCell(c.header("Amount"));
+            salaryTable.addHeaderCell(c.header("Deductions"));
+            salaryTable.addHeaderCell(c.header("Amount"));
+
+            salaryTable.addCell(c.label("Basic"));
+            salaryTable.addCell(c.value(Field.BASIC));
+            salaryTable.addCell(c.label("PF"));
+            salaryTable.addCell(c.value(Field.PF));
+
+            salaryTable.addCell(c.label("HRA"));
+            salaryTable.addCell(c.label("Included"));
+            salaryTable.addCell(c.label("Tax"));
+            salaryTable.addCell(c.value(Field.TAX));
+
+            salaryTable.addCell(c.label("Leave Deduction"));
+            salaryTable.addCell(c.label("₹ 0"));
+            salaryTable.addCell(c.label("Leave Deduction"));
+            salaryTable.addCell(c.value(Field.LEAVE_DEDUCTION));
+
+            salaryTable.addCell(c.header("Total Earnings"));
+            salaryTable.addCell(c.headerValue(Field.TOTAL_EARNINGS));
+            salaryTable.addCell(c.header("Total Deductions"));
+            salaryTable.addCell(c.headerValue(Field.TOTAL_DEDUCTIONS));
+
+            document.add(salaryTable.setMarginBottom(15));
+
+            // ================= NET SALARY =================
+
+            document.add(c.paragraph(Field.NET_SALARY));
+
+            document.close();
+
+            return baos.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Font objects belong to one document, so each render needs its own;
+     * the font program behind them is cached by iText.
+     */
+    private static PdfFont standardFont(String name) {
+        try {
+            return PdfFontFactory.createFont(name);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Table fourColumnTable() {
+        return new Table(UnitValue.createPercentArray(4))
+                .useAllAvailableWidth();
+    }
+
+    /**
+     * Builds the elements of one composition.
+     */
+    private record Composer(Values values,
+                            Map<Field, Slot> slots,
+                            PdfFont regular,
+                            PdfFont bold) {
+
+        Cell label(String text) {
+            return new Cell()
+                    .add(new Paragraph(text))
+                    .setBorder(CELL_BORDER);
+        }
+
+        Cell header(String text) {
+            return new Cell()
+                    .add(new Paragraph(text).setFont(bold))
+                    .setBackgroundColor(HEADER_BACKGROUND)
+                    .setBorder(CELL_BORDER);
+        }
+
+        Cell value(Field field) {
+            return record(label(values.get(field)), field);
+        }
+
+        Cell headerValue(Field field) {
+            return record(header(values.get(field)), field);
+        }
+
+        Paragraph paragraph(Field field) {
+
+            Paragraph paragraph = new Paragraph(values.get(field))
+                    .setFont(field.bold ? bold : regular)
+                    .setFontSize(field.fontSize)
+                    .setTextAlignment(field.alignment);
+
+            if (slots != null) {
+                paragraph.setNextRenderer(new SlotParagraphRenderer(paragraph, field, slots));
+            }
+            return paragraph;
+        }
+
+        private Cell record(Cell cell, Field field) {
+            if (slots != null) {
+                cell.setNextRenderer(new SlotCellRenderer(cell, field, slots));
+            }
+            return cell;
+        }
+    }
+
+    private static final class SlotCellRenderer extends CellRenderer {
+
+        private final Field field;
+        private final Map<Field, Slot> slots;
+
+        SlotCellRenderer(Cell cell, Field field, Map<Field, Slot> slots) {
+            super(cell);
+            this.field = field;
+            this.slots = slots;
+        }
+
+        /**
+         * Draws the box but not the placeholder text.
+         */
+        @Override
+        public void drawChildren(DrawContext drawContext) {
+            ParagraphRenderer text = (ParagraphRenderer) getChildRenderers().get(0);
+            slots.put(field, new Slot(getInnerAreaBBox(), text.getLines().get(0).getYLine()));
+        }
+
+        @Override
+        public IRenderer getNextRenderer() {
+            return new SlotCellRenderer((Cell) modelElement, field, slots);
+        }
+    }
+
+    private static final class SlotParagraphRenderer extends ParagraphRenderer {
+
+        private final Field field;
+        private final Map<Field, Slot> slots;
+
+        SlotParagraphRenderer(Paragraph paragraph, Field field, Map<Field, Slot> slots) {
+            super(paragraph);
+            this.field = field;
+            this.slots = slots;
+        }
+
+        /**
+         * Records the box; the placeholder text itself is not drawn.
+         */
+        @Override
+        public void draw(DrawContext drawContext) {
+            slots.put(field, new Slot(getInnerAreaBBox(), getLines().get(0).getYLine()));
+        }
+
+        @Override
+        public IRenderer getNextRenderer() {
+            return new SlotParagraphRenderer((Paragraph) modelElement, field, slots);
+        }
+    }
+}
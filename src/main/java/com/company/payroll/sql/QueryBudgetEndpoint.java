@@ -0,0 +1,37 @@
+package com.company.payroll.sql;
+
+import com.company.payroll.dto.QueryBudgetOffender;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/querybudget}: requests and transactions with the most
+ * budget violations and statements. {@code DELETE} clears the statistics.
+ */
+@Component
+@Endpoint(id = "querybudget")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "payroll.query-budget", name = "enabled", matchIfMissing = true)
+public class QueryBudgetEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final QueryBudgetMonitor queryBudgetMonitor;
+
+    @ReadOperation
+    public List<QueryBudgetOffender> offenders(@Nullable Integer limit) {
+        return queryBudgetMonitor.offenders(limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryBudgetMonitor.reset();
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.payroll.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link QueryScope} per HTTP request, named by its handler mapping
+ * (e.g. {@code GET /api/v1/employees}). Statements issued by async response
+ * bodies run on another thread and are not part of the request's count.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "payroll.query-budget", name = "enabled", matchIfMissing = true)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetMonitor queryBudgetMonitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        QueryScope scope = QueryScope.open(request.getRequestURI());
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+            queryBudgetMonitor.complete(nameOf(request), scope);
+        }
+    }
+
+    /**
+     * The mapping is only known once the request has been dispatched.
+     */
+    private static String nameOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,180 @@
+package com.company.payroll.sql;
+
+import com.company.payroll.dto.QueryBudgetOffender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks each HTTP request and each transaction against the query budget.
+ * <p>
+ * A scope is flagged when it runs more than {@code max-statements}
+ * statements, or the same statement shape more than {@code max-repeats}
+ * times (the N+1 signature). Flagged scopes are logged; statistics of every
+ * scope name are kept for the {@code querybudget} actuator endpoint.
+ * <p>
+ * Transactions are observed through the transaction manager (Spring Boot
+ * registers this listener on it); joined transactions are not separate scopes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "payroll.query-budget", name = "enabled", matchIfMissing = true)
+public class QueryBudgetMonitor implements TransactionExecutionListener {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(QueryBudgetMonitor.class);
+
+    /**
+     * Upper bound on distinct scope names tracked; names are request
+     * mappings and transactional methods, so this is rarely reached.
+     */
+    private static final int MAX_TRACKED_SCOPES = 1_000;
+
+    private final int maxStatements;
+    private final int maxRepeats;
+
+    private final Map<String, ScopeStats> stats = new ConcurrentHashMap<>();
+    private final Map<TransactionExecution, QueryScope> transactions = new ConcurrentHashMap<>();
+
+    public QueryBudgetMonitor(@Value("${payroll.query-budget.max-statements:30}") int maxStatements,
+                              @Value("${payroll.query-budget.max-repeats:10}") int maxRepeats) {
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+    }
+
+    /**
+     * Records a finished scope under {@code name} and logs it when it broke the budget.
+     */
+    public void complete(String name, QueryScope scope) {
+
+        int statements = scope.statements();
+        Map.Entry<String, Integer> repeated = scope.mostRepeated();
+        int repeats = repeated != null ? repeated.getValue() : 0;
+
+        boolean overBudget = statements > maxStatements;
+        boolean nPlusOne = repeats > maxRepeats;
+
+        if (overBudget) {
+            log.warn("Query budget exceeded: {} ran {} statements (budget {})",
+                    name, statements, maxStatements);
+        }
+        if (nPlusOne) {
+            log.warn("Possible N+1 in {}: {} executions of [{}]",
+                    name, repeats, repeated.getKey());
+        }
+
+        if (stats.size() >= MAX_TRACKED_SCOPES && !stats.containsKey(name)) {
+            return;
+        }
+
+        stats.computeIfAbsent(name, ScopeStats::new)
+                .add(statements, repeats, repeated, overBudget || nPlusOne);
+    }
+
+    /**
+     * Tracked scopes, most violations first, then most statements.
+     */
+    public List<QueryBudgetOffender> offenders(int limit) {
+        return stats.values().stream()
+                .map(ScopeStats::snapshot)
+                .sorted(Comparator.comparingLong(QueryBudgetOffender::violations).reversed()
+                        .thenComparing(Comparator.comparingInt(QueryBudgetOffender::maxStatements).reversed()))
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        transactions.put(transaction, QueryScope.open(nameOf(transaction)));
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null) {
+            finish(transaction);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        finish(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        finish(transaction);
+    }
+
+    /**
+     * {@code tx Class.method} for declarative transactions; programmatic
+     * ones (TransactionTemplate) have no name.
+     */
+    private static String nameOf(TransactionExecution transaction) {
+
+        String name = transaction.getTransactionName();
+        if (name == null || name.isEmpty()) {
+            return "tx (unnamed)";
+        }
+
+        int method = name.lastIndexOf('.');
+        int type = method > 0 ? name.lastIndexOf('.', method - 1) : -1;
+        return "tx " + name.substring(type + 1);
+    }
+
+    private void finish(TransactionExecution transaction) {
+        QueryScope scope = transactions.remove(transaction);
+        if (scope != null) {
+            scope.close();
+            complete(scope.name(), scope);
+        }
+    }
+
+    private static final class ScopeStats {
+
+        private final String scope;
+        private long executions;
+        private long violations;
+        private int maxStatements;
+        private int maxRepeats;
+        private String mostRepeatedStatement;
+        private LocalDateTime lastViolationAt;
+
+        private ScopeStats(String scope) {
+            this.scope = scope;
+        }
+
+        synchronized void add(int statements,
+                              int repeats,
+                              Map.Entry<String, Integer> repeated,
+                              boolean violation) {
+            executions++;
+            maxStatements = Math.max(maxStatements, statements);
+            if (repeats > maxRepeats) {
+                maxRepeats = repeats;
+                mostRepeatedStatement = repeated.getKey();
+            }
+            if (violation) {
+                violations++;
+                lastViolationAt = LocalDateTime.now();
+            }
+        }
+
+        synchronized QueryBudgetOffender snapshot() {
+            return new QueryBudgetOffender(scope, executions, violations,
+                    maxStatements, maxRepeats, mostRepeatedStatement, lastViolationAt);
+        }
+    }
+}
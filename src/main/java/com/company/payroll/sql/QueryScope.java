@@ -0,0 +1,100 @@
+package com.company.payroll.sql;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements executed on the current thread while open.
+ * <p>
+ * Scopes nest (a request, the transactions inside it, a test assertion):
+ * every open scope of the thread sees every statement. Statements are also
+ * grouped by shape, i.e. the SQL text with IN lists collapsed, so the same
+ * query repeated per row of a result (N+1) stands out.
+ * <p>
+ * Not thread-safe: a scope is only ever touched by the thread that opened it.
+ */
+public final class QueryScope implements AutoCloseable {
+
+    private static final ThreadLocal<Deque<QueryScope>> ACTIVE = new ThreadLocal<>();
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(\\s*,\\s*\\?)+\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String name;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+
+    private QueryScope(String name) {
+        this.name = name;
+    }
+
+    public static QueryScope open(String name) {
+
+        Deque<QueryScope> scopes = ACTIVE.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            ACTIVE.set(scopes);
+        }
+
+        QueryScope scope = new QueryScope(name);
+        scopes.push(scope);
+        return scope;
+    }
+
+    /**
+     * Called for every executed statement (a JDBC batch counts once).
+     */
+    static void record(String sql) {
+
+        Deque<QueryScope> scopes = ACTIVE.get();
+        if (scopes == null) {
+            return;
+        }
+
+        String shape = shapeOf(sql);
+        for (QueryScope scope : scopes) {
+            scope.statements++;
+            scope.shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("(?...)");
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    /**
+     * The most executed statement shape and its count, or null if none ran.
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return shapes.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(e -> Map.entry(e.getKey(), e.getValue()))
+                .orElse(null);
+    }
+
+    @Override
+    public void close() {
+
+        Deque<QueryScope> scopes = ACTIVE.get();
+        if (scopes == null) {
+            return;
+        }
+
+        scopes.remove(this);
+        if (scopes.isEmpty()) {
+            ACTIVE.remove();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+-- Every id sequence steps by 50 to match the entities' allocationSize.
+
+create sequence employee_seq start with 1 increment by 50;
+create sequence holiday_seq start with 1 increment by 50;
+create sequence leave_balance_seq start with 1 increment by 50;
+create sequence leave_request_seq start with 1 increment by 50;
+create sequence payroll_month_summary_seq start with 1 increment by 50;
+create sequence payroll_run_chunk_seq start with 1 increment by 50;
+create sequence payroll_run_error_seq start with 1 increment by 50;
+create sequence payroll_run_seq start with 1 increment by 50;
+create sequence payroll_seq start with 1 increment by 50;
+create sequence salary_structure_seq start with 1 increment by 50;
+
+create table employee (
+    id bigint not null,
+    emp_code varchar(20) not null,
+    email varchar(100) not null,
+    first_name varchar(100) not null,
+    middle_name varchar(100),
+    last_name varchar(100) not null,
+    department varchar(50) not null,
+    designation varchar(50) not null,
+    joining_date date not null,
+    active boolean not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_employee primary key (id),
+    constraint uk_employee_emp_code unique (emp_code),
+    constraint uk_employee_email unique (email)
+);
+
+create table salary_structure (
+    id bigint not null,
+    employee_id bigint not null,
+    basic_salary numeric(10,2) not null,
+    hra numeric(10,2) not null,
+    allowances numeric(10,2) not null,
+    tax_percentage numeric(5,2) not null,
+    pf_percentage numeric(5,2) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_salary_structure primary key (id),
+    constraint uk_salary_structure_employee unique (employee_id),
+    constraint fk_salary_structure_employee foreign key (employee_id) references employee (id)
+);
+
+create table leave_balance (
+    id bigint not null,
+    employee_id bigint not null,
+    leave_year integer not null,
+    total_cl_sl numeric(38,2) not null,
+    used_cl_sl numeric(38,2) not null,
+    total_pto numeric(38,2) not null,
+    used_pto numeric(38,2) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_leave_balance primary key (id),
+    constraint uk_leave_balance_employee_year unique (employee_id, leave_year),
+    constraint fk_leave_balance_employee foreign key (employee_id) references employee (id)
+);
+
+create table leave_request (
+    id bigint not null,
+    employee_id bigint not null,
+    leave_type enum ('CLSL','PTO') not null,
+    from_date date not null,
+    to_date date not null,
+    total_days integer not null,
+    reason varchar(255) not null,
+    applied_date date,
+    status enum ('APPLIED','APPROVED','PENDING','REJECTED') not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_leave_request primary key (id),
+    constraint fk_leave_request_employee foreign key (employee_id) references employee (id)
+);
+
+create index idx_leave_request_status_id on leave_request (status, id);
+create index idx_leave_request_employee_id on leave_request (employee_id, id);
+create index idx_leave_request_employee_dates on leave_request (employee_id, from_date, to_date, status);
+
+create table holiday (
+    id bigint not null,
+    holiday_date date not null,
+    name varchar(100) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_holiday primary key (id),
+    constraint uk_holiday_date unique (holiday_date)
+);
+
+create table payroll (
+    id bigint not null,
+    employee_id bigint not null,
+    pay_month varchar(255) not null,
+    working_days integer not null,
+    paid_days integer not null,
+    lop_days integer not null,
+    gross_salary numeric(10,2) not null,
+    pf_amount numeric(10,2) not null,
+    tax_amount numeric(10,2) not null,
+    leave_deduction numeric(10,2) not null,
+    total_deductions numeric(10,2) not null,
+    net_salary numeric(10,2) not null,
+    status enum ('GENERATED','PAID') not null,
+    processed_date date,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_payroll primary key (id),
+    constraint uk_payroll_employee_month unique (employee_id, pay_month),
+    constraint fk_payroll_employee foreign key (employee_id) references employee (id)
+);
+
+create table payroll_month_summary (
+    id bigint not null,
+    pay_month varchar(255) not null,
+    department varchar(50) not null,
+    generated_count bigint not null,
+    paid_count bigint not null,
+    gross_total numeric(15,2) not null,
+    pf_total numeric(15,2) not null,
+    tax_total numeric(15,2) not null,
+    lop_total numeric(15,2) not null,
+    net_total numeric(15,2) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_payroll_month_summary primary key (id),
+    constraint uk_payroll_month_summary unique (pay_month, department)
+);
+
+create table payroll_run (
+    id bigint not null,
+    pay_month varchar(255) not null,
+    status enum ('COMPLETED','FAILED','RUNNING') not null,
+    chunk_size integer not null,
+    total_employees integer,
+    processed_employees integer not null,
+    processed_at_attempt_start integer not null,
+    created_count integer not null,
+    skipped_count integer not null,
+    failed_count integer not null,
+    checkpoint_employee_id bigint,
+    started_at timestamp(6) not null,
+    attempt_started_at timestamp(6) not null,
+    finished_at timestamp(6),
+    last_error varchar(500),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_payroll_run primary key (id)
+);
+
+create table payroll_run_chunk (
+    id bigint not null,
+    run_id bigint not null,
+    first_employee_id bigint not null,
+    last_employee_id bigint not null,
+    employee_count integer not null,
+    created_count integer not null,
+    skipped_count integer not null,
+    failed_count integer not null,
+    duration_millis bigint not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_payroll_run_chunk primary key (id),
+    constraint fk_payroll_run_chunk_run foreign key (run_id) references payroll_run (id)
+);
+
+create table payroll_run_error (
+    id bigint not null,
+    run_id bigint not null,
+    employee_id bigint not null,
+    reason varchar(500),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    constraint pk_payroll_run_error primary key (id),
+    constraint fk_payroll_run_error_run foreign key (run_id) references payroll_run (id)
+);
@@ -0,0 +1,22 @@
+-- Indexes for the access paths of the repository queries.
+-- QueryPlanTest runs EXPLAIN on each of those queries and fails on a table scan.
+
+-- findLeavesForPayrollMonth and the overlap check: equality on employee and
+-- status, then a range on from_date; to_date is read from the index.
+drop index idx_leave_request_employee_dates;
+create index idx_leave_request_employee_status_dates on leave_request (employee_id, status, from_date, to_date);
+
+-- findAllLeavesForPayrollMonth: one status across all employees, ranged on from_date.
+create index idx_leave_request_status_dates on leave_request (status, from_date, to_date);
+
+-- Month lookups, the keyset pages (pay_month = ? AND id > ? ORDER BY id),
+-- the register stream and the summary rebuild.
+create index idx_payroll_pay_month_id on payroll (pay_month, id);
+
+-- Active employee listing sorted by creation time (id breaks ties).
+create index idx_employee_active_created on employee (active, created_at, id);
+
+-- Resumable run lookup and the per-run chunk and error reads.
+create index idx_payroll_run_pay_month_id on payroll_run (pay_month, id);
+create index idx_payroll_run_chunk_run on payroll_run_chunk (run_id, last_employee_id);
+create index idx_payroll_run_error_run on payroll_run_error (run_id, id);
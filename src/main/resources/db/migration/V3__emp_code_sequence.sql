@@ -0,0 +1,5 @@
+-- Employee codes are handed out in blocks: one nextval reserves
+-- [value, value + 100). INCREMENT BY must equal payroll.emp-code.block-size.
+-- Starting at 100000 keeps new codes clear of the random five-digit
+-- EMP-10000..EMP-99999 codes issued before.
+create sequence emp_code_seq start with 100000 increment by 100;
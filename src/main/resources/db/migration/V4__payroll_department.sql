@@ -0,0 +1,9 @@
+-- The department a payroll was generated under. The month summary is keyed
+-- on it, so an employee changing department later no longer moves (or
+-- strands) payrolls already counted under the old one.
+alter table payroll add column department varchar(50);
+
+update payroll p
+set department = (select e.department from employee e where e.id = p.employee_id);
+
+alter table payroll alter column department set not null;
@@ -0,0 +1,152 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.enums.PayrollStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Insert throughput of 100k payroll rows with JDBC batching off and on.
+ * <p>
+ * Both passes use the pooled sequence ids; the baseline only sets the JDBC
+ * batch size to 1, so it sends one INSERT round trip per row as IDENTITY
+ * ids did. IDENTITY also read the generated key back after every insert,
+ * which this baseline does not, so it flatters the old ids. The in-memory
+ * H2 database has no network latency either: the gap here is a lower bound
+ * of what a networked database shows. The rows are deleted afterwards.
+ * Run with {@code mvn test -Dtest=PayrollBatchInsertBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class PayrollBatchInsertBenchmarkTest {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(PayrollBatchInsertBenchmarkTest.class);
+
+    private static final int EMPLOYEES = 1_000;
+    private static final int MONTHS = 100;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private List<Employee> employees = List.of();
+
+    @Test
+    void insertHundredThousandPayrollRows() {
+
+        employees = createEmployees();
+
+        double unbatched = insertPayrolls(employees, YearMonth.of(2000, 1), 1);
+        double batched = insertPayrolls(employees, YearMonth.of(2010, 1), 50);
+
+        log.info("{} payroll rows, pooled sequence ids: batch size 1 {} rows/sec, batch size 50 {} rows/sec ({}x)",
+                EMPLOYEES * MONTHS, Math.round(unbatched), Math.round(batched),
+                String.format("%.1f", batched / unbatched));
+    }
+
+    /**
+     * The context, and its in-memory database, is shared with the other tests.
+     */
+    @AfterEach
+    void deleteBenchmarkRows() {
+
+        if (employees.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("DELETE FROM Payroll p WHERE p.employee IN :employees")
+                .setParameter("employees", employees)
+                .executeUpdate());
+        employeeRepository.deleteAllInBatch(employees);
+    }
+
+    private double insertPayrolls(List<Employee> employees, YearMonth firstMonth, int batchSize) {
+
+        long start = System.nanoTime();
+        List<Payroll> pending = new ArrayList<>(ROWS_PER_TRANSACTION);
+
+        for (int m = 0; m < MONTHS; m++) {
+            for (Employee employee : employees) {
+                pending.add(payroll(employee, firstMonth.plusMonths(m)));
+                if (pending.size() == ROWS_PER_TRANSACTION) {
+                    persist(pending, batchSize);
+                    pending.clear();
+                }
+            }
+        }
+        persist(pending, batchSize);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return EMPLOYEES * MONTHS / seconds;
+    }
+
+    private void persist(List<Payroll> payrolls, int batchSize) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            payrolls.forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private List<Employee> createEmployees() {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(Employee.builder()
+                    .empCode("BENCH-" + i)
+                    .firstName("Bench")
+                    .lastName("Employee " + i)
+                    .email("bench" + i + "@company.com")
+                    .department("Engineering")
+                    .designation("Engineer")
+                    .joiningDate(LocalDate.of(2020, 1, 1))
+                    .active(true)
+                    .build());
+        }
+        return employeeRepository.saveAll(employees);
+    }
+
+    private static Payroll payroll(Employee employee, YearMonth payMonth) {
+        BigDecimal gross = new BigDecimal("60000.00");
+        return Payroll.builder()
+                .employee(employee)
+                .payMonth(payMonth)
+                .department(employee.getDepartment())
+                .grossSalary(gross)
+                .pfAmount(new BigDecimal("7200.00"))
+                .taxAmount(new BigDecimal("6000.00"))
+                .leaveDeduction(BigDecimal.ZERO)
+                .totalDeductions(new BigDecimal("13200.00"))
+                .netSalary(new BigDecimal("46800.00"))
+                .workingDays(22)
+                .paidDays(22)
+                .lopDays(0)
+                .status(PayrollStatus.GENERATED)
+                .processedDate(LocalDate.now())
+                .build();
+    }
+}
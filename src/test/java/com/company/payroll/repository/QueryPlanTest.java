@@ -0,0 +1,298 @@
+package com.company.payroll.repository;
+
+import com.company.payroll.dto.EmployeeCursor;
+import com.company.payroll.dto.EmployeeSort;
+import com.company.payroll.dto.LeaveInboxFilter;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.PayrollRunStatus;
+import com.company.payroll.entity.enums.PayrollStatus;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository queries, captures the SQL Hibernate actually sends
+ * (with its bound parameters) and fails when H2's EXPLAIN of any of it
+ * reads a table without an index.
+ * <p>
+ * A new query shape, or a migration that drops an index, shows up here
+ * rather than as a slow page in production.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Transactional
+class QueryPlanTest {
+
+    private static final YearMonth PAY_MONTH = YearMonth.of(2031, 3);
+    private static final LocalDate MONTH_START = PAY_MONTH.atDay(1);
+    private static final LocalDate MONTH_END = PAY_MONTH.atEndOfMonth();
+
+    private static final List<PayrollStatus> ANY_PAYROLL = List.of(PayrollStatus.GENERATED, PayrollStatus.PAID);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryStructureRepository salaryStructureRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private PayrollMonthSummaryRepository payrollMonthSummaryRepository;
+
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private PayrollRunChunkRepository payrollRunChunkRepository;
+
+    @Autowired
+    private PayrollRunErrorRepository payrollRunErrorRepository;
+
+    private final CapturingListener capture = new CapturingListener();
+
+    private Employee employee;
+
+    @BeforeEach
+    void captureStatements() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capture);
+        employee = employeeRepository.findAll().get(0);
+    }
+
+    @AfterEach
+    void stopCapturing() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(capture);
+    }
+
+    @Test
+    void employeeQueriesUseIndexes() throws Throwable {
+
+        EmployeeCursor cursor = new EmployeeCursor(LocalDateTime.of(2030, 1, 1, 0, 0), 1L, "EMP001");
+
+        assertIndexed(
+                () -> employeeRepository.findByEmpCode("EMP001"),
+                () -> employeeRepository.findByEmpCodeForUpdate("EMP001"),
+                () -> employeeRepository.findByEmail("rahul.sharma@company.com"),
+                () -> employeeRepository.existsByEmpCode("EMP001"),
+                () -> employeeRepository.existsByEmail("rahul.sharma@company.com"),
+                () -> employeeRepository.findExistingEmails(List.of("rahul.sharma@company.com", "nobody@company.com")),
+                () -> employeeRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(0L),
+                () -> employeeRepository.findActiveWithSalary(EmployeeSort.CREATED_AT, false, null, 50),
+                () -> employeeRepository.findActiveWithSalary(EmployeeSort.CREATED_AT, true, cursor, 50),
+                () -> employeeRepository.findActiveWithSalary(EmployeeSort.EMP_CODE, false, cursor, 50),
+                () -> salaryStructureRepository.findByEmployee(employee),
+                () -> salaryStructureRepository.findByEmployeeId(employee.getId()),
+                () -> salaryStructureRepository.existsByEmployee(employee),
+                () -> salaryStructureRepository.findAllForActiveEmployees(),
+                () -> leaveBalanceRepository.findByEmployee(employee),
+                () -> leaveBalanceRepository.findByEmployeeAndLeaveYear(employee, 2031),
+                () -> holidayRepository.findByHolidayDateBetweenOrderByHolidayDateAsc(MONTH_START, MONTH_END),
+                () -> holidayRepository.existsByHolidayDate(MONTH_START)
+        );
+    }
+
+    @Test
+    void leaveQueriesUseIndexes() throws Throwable {
+
+        assertIndexed(
+                () -> leaveRequestRepository.findByEmployee(employee),
+                () -> leaveRequestRepository.findByEmployeeAndStatus(employee, LeaveStatus.APPROVED),
+                () -> leaveRequestRepository.findByStatus(LeaveStatus.PENDING),
+                () -> leaveRequestRepository.countByStatus(LeaveStatus.PENDING),
+                () -> leaveRequestRepository.findByEmployeeAndFromDateBetween(employee, MONTH_START, MONTH_END),
+                () -> leaveRequestRepository
+                        .findFirstByEmployeeAndStatusAndFromDateLessThanEqualAndToDateGreaterThanEqualOrderByFromDateDesc(
+                                employee, LeaveStatus.APPROVED, MONTH_END, MONTH_START),
+                () -> leaveRequestRepository.findLeavesForPayrollMonth(
+                        employee.getId(), LeaveStatus.APPROVED, MONTH_START, MONTH_END),
+                () -> leaveRequestRepository.findAllLeavesForPayrollMonth(
+                        LeaveStatus.APPROVED, MONTH_START, MONTH_END),
+                () -> leaveRequestRepository.findInbox(
+                        new LeaveInboxFilter(null, LeaveStatus.PENDING, null, null, null, null), null, 51),
+                () -> leaveRequestRepository.findInbox(
+                        new LeaveInboxFilter(null, LeaveStatus.APPROVED, null, MONTH_START, MONTH_END, "HR"), 1000L, 51),
+                () -> leaveRequestRepository.findInbox(
+                        new LeaveInboxFilter("EMP001", null, null, null, null, null), null, 51),
+                () -> leaveRequestRepository.findInbox(
+                        new LeaveInboxFilter("EMP001", LeaveStatus.APPROVED, null, null, null, null), 1000L, 51),
+                () -> leaveRequestRepository.transition(1L, LeaveStatus.PENDING, LeaveStatus.APPROVED),
+                () -> leaveRequestRepository.lockAllById(List.of(1L, 2L, 3L)),
+                () -> leaveBalanceRepository.lockByEmployeesAndYears(List.of(employee.getId()), List.of(2031)),
+                () -> leaveBalanceRepository.consumePto(employee.getId(), 2031, BigDecimal.ONE),
+                () -> leaveBalanceRepository.consumeClSl(employee.getId(), 2031, BigDecimal.ONE)
+        );
+    }
+
+    /**
+     * Not having a table scan is not enough here: the overlap lookup has to
+     * seek on employee and status, or it reads and sorts both statuses at once.
+     */
+    @Test
+    void leaveOverlapLookupSeeksOnEmployeeAndStatus() throws Throwable {
+
+        for (String plan : plansOf(() -> leaveRequestRepository
+                .findFirstByEmployeeAndStatusAndFromDateLessThanEqualAndToDateGreaterThanEqualOrderByFromDateDesc(
+                        employee, LeaveStatus.PENDING, MONTH_END, MONTH_START))) {
+
+            String seek = plan.substring(plan.indexOf("/*"), plan.indexOf("*/"));
+            assertTrue(seek.contains("IDX_LEAVE_REQUEST_EMPLOYEE_STATUS_DATES")
+                            && seek.contains("EMPLOYEE_ID =") && seek.contains("STATUS ="),
+                    () -> "overlap lookup does not seek on (employee_id, status):\n" + plan);
+        }
+    }
+
+    @Test
+    void payrollQueriesUseIndexes() throws Throwable {
+
+        assertIndexed(
+                () -> payrollRepository.findByEmployeeAndPayMonth(employee, PAY_MONTH),
+                () -> payrollRepository.findByEmployee(employee),
+                () -> payrollRepository.existsByEmployeeAndPayMonth(employee, PAY_MONTH),
+                () -> payrollRepository.findByEmployeeIdAndPayMonth(employee.getId(), PAY_MONTH),
+                () -> payrollRepository.findWithEmployee(employee.getId(), PAY_MONTH),
+                () -> payrollRepository.findByPayMonth(PAY_MONTH),
+                () -> payrollRepository.findEmployeeIdsByPayMonth(PAY_MONTH),
+                () -> payrollRepository.countByPayMonthAndStatusIn(PAY_MONTH, ANY_PAYROLL),
+                () -> payrollRepository.summarizeByDepartment(PAY_MONTH),
+                () -> payrollRepository.findPageWithEmployee(PAY_MONTH, ANY_PAYROLL, 0L, Limit.of(200)),
+                () -> payrollRepository.findHrPayrollView(PAY_MONTH, 0L, null, null, false, Limit.of(51)),
+                () -> payrollRepository.findHrPayrollView(PAY_MONTH, 0L, "HR", PayrollStatus.PAID, false, Limit.of(51)),
+                () -> payrollRepository.streamRegister(PAY_MONTH).close(),
+                () -> payrollMonthSummaryRepository.findByPayMonthOrderByDepartment(PAY_MONTH),
+                () -> payrollMonthSummaryRepository.lockByPayMonth(PAY_MONTH),
+                () -> payrollMonthSummaryRepository.increment(PAY_MONTH, "HR", 1, 0,
+                        BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ONE)
+        );
+    }
+
+    @Test
+    void payrollRunQueriesUseIndexes() throws Throwable {
+
+        assertIndexed(
+                () -> payrollRunRepository.findFirstByPayMonthAndStatusInOrderByIdDesc(
+                        PAY_MONTH, List.of(PayrollRunStatus.RUNNING, PayrollRunStatus.FAILED)),
+                () -> payrollRunRepository.beginAttempt(1L, LocalDateTime.now()),
+                () -> payrollRunRepository.initTotalEmployees(1L, 10),
+                () -> payrollRunRepository.incrementCounters(1L, 1, 1, 0, 0),
+                () -> payrollRunRepository.advanceCheckpoint(1L, 10L),
+                () -> payrollRunRepository.finish(1L, PayrollRunStatus.COMPLETED, LocalDateTime.now(), null),
+                () -> payrollRunChunkRepository.findByRunIdAndLastEmployeeIdGreaterThan(1L, 0L),
+                () -> payrollRunChunkRepository.findStatsByRunId(1L),
+                () -> payrollRunErrorRepository.findByRunIdOrderByIdAsc(1L)
+        );
+    }
+
+    private void assertIndexed(Executable... queries) throws Throwable {
+        for (Executable query : queries) {
+            for (String plan : plansOf(query)) {
+                assertFalse(plan.contains(".tableScan"), () -> "table scan in plan:\n" + plan);
+            }
+        }
+    }
+
+    /**
+     * H2's EXPLAIN of every statement {@code query} runs.
+     */
+    private List<String> plansOf(Executable query) throws Throwable {
+
+        capture.statements.clear();
+        capture.enabled = true;
+        try {
+            query.execute();
+        } finally {
+            capture.enabled = false;
+        }
+
+        assertFalse(capture.statements.isEmpty(), "query ran no SQL");
+
+        List<String> plans = new ArrayList<>();
+        for (Statement statement : capture.statements) {
+            plans.add(jdbcTemplate.queryForObject(
+                    "EXPLAIN " + statement.sql(), String.class, statement.parameters().toArray()));
+        }
+        return plans;
+    }
+
+    private record Statement(String sql, List<Object> parameters) {
+    }
+
+    /**
+     * Records the SELECT/UPDATE/DELETE statements (not inserts or sequence
+     * calls) executed while enabled, with the first parameter set of each.
+     */
+    private static final class CapturingListener implements QueryExecutionListener {
+
+        private final List<Statement> statements = new ArrayList<>();
+        private volatile boolean enabled;
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+            if (!enabled) {
+                return;
+            }
+
+            for (QueryInfo queryInfo : queryInfoList) {
+
+                String sql = queryInfo.getQuery().strip();
+                String verb = sql.substring(0, Math.min(6, sql.length())).toLowerCase();
+                if (!verb.equals("select") && !verb.equals("update") && !verb.equals("delete")) {
+                    continue;
+                }
+
+                List<Object> parameters = new ArrayList<>();
+                if (!queryInfo.getParametersList().isEmpty()) {
+                    queryInfo.getParametersList().get(0).stream()
+                            .sorted(Comparator.comparingInt(op -> (Integer) op.getArgs()[0]))
+                            .forEach(op -> parameters.add(
+                                    ParameterSetOperation.isSetNullParameterOperation(op) ? null : op.getArgs()[1]));
+                }
+
+                statements.add(new Statement(sql, parameters));
+            }
+        }
+    }
+}
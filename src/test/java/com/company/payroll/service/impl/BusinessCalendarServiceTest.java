@@ -0,0 +1,79 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Holiday;
+import com.company.payroll.repository.HolidayRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BusinessCalendarServiceTest {
+
+    private static final Set<LocalDate> HOLIDAYS = Set.of(
+            LocalDate.of(2025, 12, 25),
+            LocalDate.of(2026, 1, 26),
+            LocalDate.of(2026, 8, 15),
+            LocalDate.of(2026, 10, 2),
+            LocalDate.of(2028, 2, 29)
+    );
+
+    private final BusinessCalendarService calendar = new BusinessCalendarService(holidayRepository());
+
+    @Test
+    void workingDaysMatchDayByDayWalk() {
+
+        Random random = new Random(7);
+        LocalDate base = LocalDate.of(2025, 1, 1);
+
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate from = base.plusDays(random.nextInt(4 * 365));
+            LocalDate to = from.plusDays(random.nextInt(800) - 10);
+
+            assertEquals(walk(from, to), calendar.workingDaysBetween(from, to), from + ".." + to);
+        }
+    }
+
+    @Test
+    void holidaysAreNotWorkingDays() {
+
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2026, 1, 26)));
+        assertEquals(21, calendar.workingDaysInMonth(YearMonth.of(2026, 1)));
+    }
+
+    private static int walk(LocalDate from, LocalDate to) {
+        int days = 0;
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            if (d.getDayOfWeek() != DayOfWeek.SATURDAY
+                    && d.getDayOfWeek() != DayOfWeek.SUNDAY
+                    && !HOLIDAYS.contains(d)) {
+                days++;
+            }
+        }
+        return days;
+    }
+
+    private static HolidayRepository holidayRepository() {
+        HolidayRepository repository = mock(HolidayRepository.class);
+        when(repository.findByHolidayDateBetweenOrderByHolidayDateAsc(any(), any()))
+                .thenAnswer(inv -> {
+                    LocalDate from = inv.getArgument(0);
+                    LocalDate to = inv.getArgument(1);
+                    return HOLIDAYS.stream()
+                            .filter(d -> !d.isBefore(from) && !d.isAfter(to))
+                            .sorted()
+                            .map(d -> Holiday.builder().holidayDate(d).name("Holiday").build())
+                            .toList();
+                });
+        return repository;
+    }
+}
@@ -0,0 +1,116 @@
+package com.company.payroll.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmpCodeGeneratorTest {
+
+    @Test
+    void handsOutConsecutiveCodesWithOneSequenceCallPerBlock() {
+
+        CountingSequence sequence = new CountingSequence(100_000, 100);
+        EmpCodeGenerator generator = new EmpCodeGenerator(sequence, "EMP-%d", 100);
+
+        List<String> codes = IntStream.range(0, 250).mapToObj(i -> generator.next()).toList();
+
+        assertEquals("EMP-100000", codes.get(0));
+        assertEquals("EMP-100249", codes.get(249));
+        assertEquals(3, sequence.calls.get());
+    }
+
+    @Test
+    void concurrentCallersNeverShareACode() throws Exception {
+
+        CountingSequence sequence = new CountingSequence(100_000, 50);
+        EmpCodeGenerator generator = new EmpCodeGenerator(sequence, "EMP-%d", 50);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 16)
+                    .<Future<?>>mapToObj(t -> executor.submit(() -> {
+                        for (int i = 0; i < 5_000; i++) {
+                            codes.add(generator.next());
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(80_000, codes.size());
+        assertEquals(80_000 / 50, sequence.calls.get());
+    }
+
+    @Test
+    void formatIsConfigurable() {
+        EmpCodeGenerator generator = new EmpCodeGenerator(new CountingSequence(42, 10), "E%08d", 10);
+        assertEquals("E00000042", generator.next());
+    }
+
+    @Test
+    void rejectsFormatWithoutANumber() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmpCodeGenerator(new CountingSequence(1, 1), "EMP-%s-%d", 1));
+    }
+
+    @Test
+    void rejectsFormatThatIgnoresTheNumber() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmpCodeGenerator(new CountingSequence(1, 1), "EMP-", 1));
+    }
+
+    @Test
+    void blockSizeMustMatchTheSequenceIncrement() {
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:emp-code-generator-test;DB_CLOSE_DELAY=-1"));
+
+        assertThrows(IllegalStateException.class, () -> EmpCodeGenerator.checkIncrement(jdbcTemplate, 100));
+
+        jdbcTemplate.execute("create sequence " + EmpCodeGenerator.SEQUENCE + " start with 100000 increment by 100");
+
+        EmpCodeGenerator.checkIncrement(jdbcTemplate, 100);
+        assertThrows(IllegalStateException.class, () -> EmpCodeGenerator.checkIncrement(jdbcTemplate, 50));
+        assertThrows(IllegalStateException.class, () -> EmpCodeGenerator.checkIncrement(jdbcTemplate, 200));
+    }
+
+    /**
+     * Stand-in for emp_code_seq: starts at {@code start}, steps by {@code increment}.
+     */
+    private static final class CountingSequence implements LongSupplier {
+
+        private final AtomicLong value;
+        private final int increment;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingSequence(long start, int increment) {
+            this.value = new AtomicLong(start);
+            this.increment = increment;
+        }
+
+        @Override
+        public long getAsLong() {
+            calls.incrementAndGet();
+            return value.getAndAdd(increment);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.ImportFormat;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.LeaveBalanceRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.company.payroll.support.QueryCounts.assertAtMostStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class EmployeeImportTest {
+
+    private static final String CSV_HEADER = "firstName,middleName,lastName,email,department,designation,"
+            + "joiningDate,basicSalary,hra,allowances,taxPercentage,pfPercentage\n";
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryStructureRepository salaryStructureRepository;
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void importsAThousandRowsInBatches() throws Throwable {
+
+        String csv = IntStream.rangeClosed(1, 1_000)
+                .mapToObj(i -> csvRow("import-bulk-" + i + "@acme.test"))
+                .collect(Collectors.joining("", CSV_HEADER, ""));
+
+        List<JsonNode> report = new ArrayList<>();
+        assertAtMostStatements(150, () -> report.addAll(importCsv(csv)));
+
+        JsonNode summary = report.get(report.size() - 1);
+        assertEquals(1_000, summary.get("created").asLong());
+        assertEquals(0, summary.get("failed").asLong());
+        assertTrue(summary.get("complete").asBoolean());
+
+        JsonNode last = report.get(999);
+        assertEquals(1_000, last.get("row").asLong());
+        assertEquals("CREATED", last.get("outcome").asText());
+
+        Employee employee = employeeRepository.findByEmail("import-bulk-1000@acme.test").orElseThrow();
+        assertEquals(last.get("empCode").asText(), employee.getEmpCode());
+        assertTrue(salaryStructureRepository.findByEmployee(employee).isPresent());
+        assertTrue(leaveBalanceRepository.findByEmployee(employee).isPresent());
+    }
+
+    @Test
+    void reportsEachBadRowAndImportsTheRest() throws Exception {
+
+        importCsv(CSV_HEADER + csvRow("import-taken@acme.test"));
+
+        String csv = CSV_HEADER
+                + csvRow("import-ok-1@acme.test")
+                + "Ann,,,import-no-name@acme.test,QA,Tester,2026-01-05,50000,20000,5000,10,12\n"
+                + "Ann,,Lee,import-bad-date@acme.test,QA,Tester,05/01/2026,50000,20000,5000,10,12\n"
+                + csvRow("import-taken@acme.test")
+                + csvRow("import-twice@acme.test")
+                + csvRow("import-twice@acme.test")
+                + "Ann,,Lee,not-an-email,QA,Tester,2026-01-05,-1,20000,5000,10,12\n"
+                + csvRow("import-ok-2@acme.test");
+
+        List<JsonNode> report = importCsv(csv);
+
+        assertEquals(List.of("CREATED", "INVALID", "INVALID", "DUPLICATE_EMAIL", "CREATED",
+                        "DUPLICATE_EMAIL", "INVALID", "CREATED"),
+                report.subList(0, 8).stream().map(line -> line.get("outcome").asText()).toList());
+        assertEquals("lastName is required", report.get(1).get("message").asText());
+        assertEquals("email is not a valid address; basicSalary must be between 0 and 99999999.99",
+                report.get(6).get("message").asText());
+
+        JsonNode summary = report.get(8);
+        assertEquals(8, summary.get("rows").asLong());
+        assertEquals(3, summary.get("created").asLong());
+        assertEquals(5, summary.get("failed").asLong());
+
+        assertTrue(employeeRepository.findByEmail("import-ok-2@acme.test").isPresent());
+        assertFalse(employeeRepository.findByEmail("import-bad-date@acme.test").isPresent());
+    }
+
+    @Test
+    void reportsARepeatInALaterChunkAgainstItsFirstRow() throws Exception {
+
+        String csv = IntStream.rangeClosed(1, 250)
+                .mapToObj(i -> csvRow("import-repeat-" + i + "@acme.test"))
+                .collect(Collectors.joining("", CSV_HEADER, csvRow("import-repeat-1@acme.test")));
+
+        List<JsonNode> report = importCsv(csv);
+
+        JsonNode repeat = report.get(250);
+        assertEquals("DUPLICATE_EMAIL", repeat.get("outcome").asText());
+        assertEquals("Email is also on row 1 of this upload", repeat.get("message").asText());
+        assertEquals(250, report.get(251).get("created").asLong());
+    }
+
+    @Test
+    void readsJsonArraysAndNdjson() throws Exception {
+
+        String array = "[" + jsonRow("import-array-1@acme.test") + "," + jsonRow("import-array-2@acme.test") + "]";
+        String lines = jsonRow("import-lines-1@acme.test") + "\n" + jsonRow("import-lines-2@acme.test") + "\n";
+
+        assertEquals(2, run(array, ImportFormat.JSON).get(2).get("created").asLong());
+        assertEquals(2, run(lines, ImportFormat.JSON).get(2).get("created").asLong());
+    }
+
+    @Test
+    void stopsAtMalformedJsonAndKeepsWhatCameBefore() throws Exception {
+
+        String lines = jsonRow("import-before-break@acme.test") + "\n{\"firstName\": ]\n" + jsonRow("import-after-break@acme.test");
+
+        List<JsonNode> report = run(lines, ImportFormat.JSON);
+
+        assertEquals("CREATED", report.get(0).get("outcome").asText());
+        assertEquals("INVALID", report.get(1).get("outcome").asText());
+        assertFalse(report.get(2).get("complete").asBoolean());
+        assertTrue(employeeRepository.findByEmail("import-before-break@acme.test").isPresent());
+        assertFalse(employeeRepository.findByEmail("import-after-break@acme.test").isPresent());
+    }
+
+    private List<JsonNode> importCsv(String csv) throws IOException {
+        return run(csv, ImportFormat.CSV);
+    }
+
+    private List<JsonNode> run(String body, ImportFormat format) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        employeeImportService.importEmployees(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, out);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static String csvRow(String email) {
+        return "Ann,,Lee," + email + ",QA,Tester,2026-01-05,50000,20000,5000,10,12\n";
+    }
+
+    private static String jsonRow(String email) {
+        return "{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"" + email + "\",\"department\":\"QA\","
+                + "\"designation\":\"Tester\",\"joiningDate\":\"2026-01-05\",\"basicSalary\":50000,\"hra\":20000,"
+                + "\"allowances\":5000,\"taxPercentage\":10,\"pfPercentage\":12}";
+    }
+}
@@ -0,0 +1,154 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.EmployeeResponseDto;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import com.company.payroll.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The employee listing must cost one SQL statement per page, however many
+ * employees (and salary structures) exist.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EmployeeListingQueryCountTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryStructureRepository salaryStructureRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void onePageIsOneQueryRegardlessOfEmployeeCount() {
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        seed("QCA", 10);
+        long smallCount = employeeRepository.count();
+        assertEquals(1, statementsForFirstPage(statistics, smallCount));
+
+        seed("QCB", 200);
+        long largeCount = employeeRepository.count();
+        assertEquals(1, statementsForFirstPage(statistics, largeCount));
+    }
+
+    @Test
+    void cursorsWalkEveryActiveEmployeeOnceInEachSortOrder() {
+
+        seed("QCC", 37);
+        long active = employeeRepository.findAll().stream().filter(Employee::getActive).count();
+
+        for (String sort : List.of("createdAt", "empCode")) {
+            for (String direction : List.of("asc", "desc")) {
+
+                List<EmployeeResponseDto> all = walk(sort, direction, 7);
+
+                Set<Long> ids = new HashSet<>();
+                all.forEach(row -> ids.add(row.getId()));
+
+                assertEquals(active, all.size(), sort + " " + direction);
+                assertEquals(active, ids.size(), sort + " " + direction);
+
+                if (sort.equals("empCode")) {
+                    for (int i = 1; i < all.size(); i++) {
+                        int cmp = all.get(i - 1).getEmpCode().compareTo(all.get(i).getEmpCode());
+                        assertTrue(direction.equals("asc") ? cmp < 0 : cmp > 0);
+                    }
+                }
+            }
+        }
+
+        EmployeeResponseDto withoutSalary = walk("empCode", "asc", 500).stream()
+                .filter(row -> row.getEmpCode().equals("QCC-00000"))
+                .findFirst()
+                .orElseThrow();
+        assertNull(withoutSalary.getBasicSalary());
+    }
+
+    /**
+     * Every active employee, following nextCursor from the first page to the last.
+     */
+    private List<EmployeeResponseDto> walk(String sort, String direction, int size) {
+
+        List<EmployeeResponseDto> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<EmployeeResponseDto> page =
+                    employeeService.getAllActiveEmployees(sort, direction, cursor, size);
+            all.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        return all;
+    }
+
+    private long statementsForFirstPage(Statistics statistics, long employees) {
+
+        statistics.clear();
+        CursorPage<EmployeeResponseDto> page =
+                employeeService.getAllActiveEmployees("createdAt", "desc", null, (int) Math.min(employees, 500));
+
+        assertTrue(page.content().size() > 1);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Creates {@code count} active employees; every employee but the first
+     * gets a salary structure.
+     */
+    private void seed(String prefix, int count) {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .empCode(String.format("%s-%05d", prefix, i))
+                    .firstName("Query")
+                    .lastName("Count" + i)
+                    .email(prefix.toLowerCase() + i + "@technova.com")
+                    .department("Engineering")
+                    .designation("Software Engineer")
+                    .joiningDate(LocalDate.of(2024, 1, 1))
+                    .active(true)
+                    .build());
+        }
+        employeeRepository.saveAll(employees);
+
+        salaryStructureRepository.saveAll(employees.stream()
+                .skip(1)
+                .map(employee -> SalaryStructure.builder()
+                        .employee(employee)
+                        .basicSalary(new BigDecimal("40000.00"))
+                        .hra(new BigDecimal("15000.00"))
+                        .allowances(new BigDecimal("5000.00"))
+                        .taxPercentage(new BigDecimal("10.00"))
+                        .pfPercentage(new BigDecimal("12.00"))
+                        .build())
+                .toList());
+    }
+}
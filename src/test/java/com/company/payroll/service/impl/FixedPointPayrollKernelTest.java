@@ -0,0 +1,122 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.SalaryStructure;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Property: for any salary structure exact to the paisa, the fixed-point
+ * path produces exactly the figures of the BigDecimal path.
+ */
+class FixedPointPayrollKernelTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private final PayrollCalculatorService calculator =
+            new PayrollCalculatorService(null, null, null, null, null, null);
+
+    @Test
+    void fixedPointMatchesBigDecimalForRandomSalaryStructures() {
+
+        Random random = new Random(20260301L);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            SalaryStructure salary = SalaryStructure.builder()
+                    .basicSalary(amount(random))
+                    .hra(amount(random))
+                    .allowances(amount(random))
+                    .pfPercentage(percentage(random))
+                    .taxPercentage(percentage(random))
+                    .build();
+
+            int workingDays = 1 + random.nextInt(23);
+            int unpaidLeaveDays = random.nextInt(workingDays + 1);
+
+            assertSameFigures(salary, workingDays, unpaidLeaveDays);
+        }
+    }
+
+    @Test
+    void roundingTiesGoAwayFromZero() {
+
+        assertEquals(3, FixedPointPayrollKernel.divideHalfUp(5, 2));
+        assertEquals(-3, FixedPointPayrollKernel.divideHalfUp(-5, 2));
+        assertEquals(2, FixedPointPayrollKernel.divideHalfUp(7, 4));
+        assertEquals(1, FixedPointPayrollKernel.divideHalfUp(4, 3));
+        assertEquals(0, FixedPointPayrollKernel.divideHalfUp(-1, 3));
+    }
+
+    @Test
+    void edgeCasesMatch() {
+
+        List<String> amounts = List.of("0", "0.01", "0.05", "1", "99999999.99", "12345.67");
+        List<String> percentages = List.of("0", "-5", "0.01", "12", "12.50", "99.99", "100");
+
+        for (String basic : amounts) {
+            for (String pct : percentages) {
+                SalaryStructure salary = SalaryStructure.builder()
+                        .basicSalary(new BigDecimal(basic))
+                        .hra(new BigDecimal("0.50"))
+                        .allowances(new BigDecimal("0.25"))
+                        .pfPercentage(new BigDecimal(pct))
+                        .taxPercentage(new BigDecimal(pct))
+                        .build();
+
+                for (int workingDays = 1; workingDays <= 23; workingDays++) {
+                    assertSameFigures(salary, workingDays, workingDays);
+                    assertSameFigures(salary, workingDays, 0);
+                }
+            }
+        }
+    }
+
+    private void assertSameFigures(SalaryStructure salary, int workingDays, int unpaidLeaveDays) {
+
+        Payroll.PayrollBuilder reference = Payroll.builder();
+        calculator.applyBigDecimalAmounts(reference, salary, workingDays, unpaidLeaveDays);
+
+        Payroll.PayrollBuilder fixedPoint = Payroll.builder();
+        calculator.applyFixedPointAmounts(fixedPoint, salary, workingDays, unpaidLeaveDays);
+
+        Payroll expected = reference.build();
+        Payroll actual = fixedPoint.build();
+        String context = salary.getBasicSalary() + "/" + salary.getHra() + "/" + salary.getAllowances()
+                + " pf=" + salary.getPfPercentage() + " tax=" + salary.getTaxPercentage()
+                + " wd=" + workingDays + " lop=" + unpaidLeaveDays;
+
+        for (Function<Payroll, BigDecimal> field : List.<Function<Payroll, BigDecimal>>of(
+                Payroll::getGrossSalary,
+                Payroll::getPfAmount,
+                Payroll::getTaxAmount,
+                Payroll::getLeaveDeduction,
+                Payroll::getTotalDeductions,
+                Payroll::getNetSalary)) {
+
+            // Same value at the persisted scale (numeric(10, 2))
+            assertEquals(field.apply(expected).setScale(2), field.apply(actual), context);
+        }
+    }
+
+    private static BigDecimal amount(Random random) {
+        long paise = switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(100);                          // sub-rupee
+            case 1 -> random.nextInt(10_000_000);                   // up to 1 lakh
+            case 2 -> (long) random.nextInt(100_000) * 100;         // whole rupees
+            default -> (long) (random.nextDouble() * 9_999_999_999L); // up to numeric(10, 2)
+        };
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    private static BigDecimal percentage(Random random) {
+        return random.nextInt(10) == 0
+                ? BigDecimal.ZERO
+                : BigDecimal.valueOf(random.nextInt(10_000), 2);
+    }
+}
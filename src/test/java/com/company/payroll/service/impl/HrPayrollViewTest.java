@@ -0,0 +1,173 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.CursorPage;
+import com.company.payroll.dto.HrPayrollView;
+import com.company.payroll.dto.PayrollResponse;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.entity.enums.PayrollStatus;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import com.company.payroll.service.PayrollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Paging through the HR payroll view with pages smaller than the result:
+ * every row once, in employee id order, for each filter.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class HrPayrollViewTest {
+
+    private static final YearMonth PAY_MONTH = YearMonth.of(2048, 5);
+    private static final String DEPARTMENT = "HR View";
+    private static final int PAGE_SIZE = 2;
+    private static final int LARGE_PAGE_SIZE = 50;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryStructureRepository salaryStructureRepository;
+
+    @Test
+    void pagesThroughEachFilterWithoutGapsOrRepeats() {
+
+        // 7 employees: 2 paid, 2 generated, 3 without a payroll
+        List<Long> all = new ArrayList<>();
+        List<Long> paid = new ArrayList<>();
+        List<Long> generated = new ArrayList<>();
+        List<Long> notGenerated = new ArrayList<>();
+        Map<Long, PayrollResponse> payrolls = new HashMap<>();
+
+        for (int i = 1; i <= 7; i++) {
+            Employee employee = employee("HRVIEW-" + i, DEPARTMENT);
+            all.add(employee.getId());
+
+            if (i > 4) {
+                notGenerated.add(employee.getId());
+                continue;
+            }
+
+            PayrollResponse payroll = payrollService.generatePayroll(employee.getId(), PAY_MONTH);
+            if (i % 2 == 0) {
+                payroll = payrollService.updatePayrollStatus(payroll.payrollId(), PayrollStatus.PAID);
+                paid.add(employee.getId());
+            } else {
+                generated.add(employee.getId());
+            }
+            payrolls.put(employee.getId(), payroll);
+        }
+
+        Employee elsewhere = employee("HRVIEW-OTHER", DEPARTMENT + " Other");
+        payrollService.generatePayroll(elsewhere.getId(), PAY_MONTH);
+
+        List<HrPayrollView> department = walk(DEPARTMENT, null, PAGE_SIZE);
+        assertEquals(all, ids(department));
+        assertEquals(paid, ids(walk(DEPARTMENT, "PAID", PAGE_SIZE)));
+        assertEquals(generated, ids(walk(DEPARTMENT, "generated", PAGE_SIZE)));
+        assertEquals(notGenerated, ids(walk(DEPARTMENT, "NOT_GENERATED", PAGE_SIZE)));
+
+        Map<Long, HrPayrollView> byId = department.stream()
+                .collect(Collectors.toMap(HrPayrollView::employeeId, Function.identity()));
+
+        payrolls.forEach((employeeId, payroll) -> {
+            HrPayrollView row = byId.get(employeeId);
+            assertTrue(row.payrollGenerated());
+            assertEquals(payroll.status(), row.status());
+            assertEquals(0, payroll.netSalary().compareTo(row.netSalary()));
+        });
+        notGenerated.forEach(employeeId -> {
+            HrPayrollView row = byId.get(employeeId);
+            assertFalse(row.payrollGenerated());
+            assertEquals("NOT_GENERATED", row.status());
+            assertNull(row.netSalary());
+        });
+
+        // No department: every employee of the shared database, each once
+        List<Long> everyone = employeeRepository.findAll().stream()
+                .map(Employee::getId)
+                .sorted()
+                .toList();
+        assertEquals(everyone, ids(walk(null, null, LARGE_PAGE_SIZE)));
+    }
+
+    /**
+     * Follows nextCursor to the last page, checking the shape of each page.
+     */
+    private List<HrPayrollView> walk(String department, String status, int size) {
+
+        List<HrPayrollView> rows = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            CursorPage<HrPayrollView> page =
+                    payrollService.getHrPayrollView(PAY_MONTH, department, status, cursor, size);
+
+            rows.addAll(page.content());
+            cursor = page.nextCursor();
+
+            if (page.hasNext()) {
+                assertEquals(size, page.content().size());
+                assertNotNull(cursor);
+            } else {
+                assertNull(cursor);
+            }
+        } while (cursor != null);
+
+        List<Long> ids = ids(rows);
+        assertEquals(ids.size(), new HashSet<>(ids).size(), () -> "repeated rows: " + ids);
+        assertEquals(ids.stream().sorted().toList(), ids);
+        return rows;
+    }
+
+    private static List<Long> ids(List<HrPayrollView> rows) {
+        return rows.stream().map(HrPayrollView::employeeId).toList();
+    }
+
+    private Employee employee(String empCode, String department) {
+
+        Employee employee = employeeRepository.save(Employee.builder()
+                .empCode(empCode)
+                .firstName("Hr")
+                .lastName("View")
+                .email(empCode.toLowerCase() + "@company.com")
+                .department(department)
+                .designation("Tester")
+                .joiningDate(LocalDate.of(2030, 1, 1))
+                .active(true)
+                .build());
+
+        salaryStructureRepository.save(SalaryStructure.builder()
+                .employee(employee)
+                .basicSalary(BigDecimal.valueOf(50_000))
+                .hra(BigDecimal.valueOf(20_000))
+                .allowances(BigDecimal.valueOf(5_000))
+                .taxPercentage(BigDecimal.TEN)
+                .pfPercentage(BigDecimal.valueOf(12))
+                .build());
+
+        return employee;
+    }
+}
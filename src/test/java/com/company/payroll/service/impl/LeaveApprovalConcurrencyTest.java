@@ -0,0 +1,184 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.LeaveBalance;
+import com.company.payroll.entity.LeaveRequest;
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.LeaveType;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.LeaveBalanceRepository;
+import com.company.payroll.repository.LeaveRequestRepository;
+import com.company.payroll.service.LeaveRequestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Approvals racing on one employee's balance: every approved day is counted
+ * exactly once and the balance is never overdrawn.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class LeaveApprovalConcurrencyTest {
+
+    private static final int YEAR = 2040;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void concurrentApprovalsLoseNoUpdates() throws InterruptedException {
+
+        Employee employee = employee("STRESS-ALL", 500, 500);
+        List<Long> ptoIds = pendingRequests(employee, LeaveType.PTO, 150, 0);
+        List<Long> clSlIds = pendingRequests(employee, LeaveType.CLSL, 150, 150);
+
+        List<Long> all = new ArrayList<>(ptoIds);
+        all.addAll(clSlIds);
+        Collections.shuffle(all);
+
+        List<Throwable> failures = approveConcurrently(all);
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " approvals failed, first: " + failures.get(0));
+
+        LeaveBalance balance = balanceOf(employee);
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(balance.getUsedPto()));
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(balance.getUsedClSl()));
+        assertEquals(300, approvedCount(all));
+    }
+
+    @Test
+    void balanceIsNeverOverdrawn() throws InterruptedException {
+
+        Employee employee = employee("STRESS-OVER", 40, 0);
+        List<Long> ids = pendingRequests(employee, LeaveType.PTO, 100, 0);
+
+        List<Throwable> failures = approveConcurrently(ids);
+
+        assertEquals(60, failures.size());
+        failures.forEach(failure -> assertInstanceOf(IllegalStateException.class, failure));
+
+        assertEquals(0, BigDecimal.valueOf(40).compareTo(balanceOf(employee).getUsedPto()));
+        assertEquals(40, approvedCount(ids));
+    }
+
+    @Test
+    void requestIsApprovedOnlyOnce() throws InterruptedException {
+
+        Employee employee = employee("STRESS-ONCE", 50, 0);
+        Long id = pendingRequests(employee, LeaveType.PTO, 1, 0).get(0);
+
+        List<Throwable> failures = approveConcurrently(Collections.nCopies(THREADS, id));
+
+        assertEquals(THREADS - 1, failures.size());
+        assertEquals(0, BigDecimal.ONE.compareTo(balanceOf(employee).getUsedPto()));
+    }
+
+    private List<Throwable> approveConcurrently(List<Long> requestIds) throws InterruptedException {
+
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            for (Long requestId : requestIds) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        leaveRequestService.approveLeave(requestId);
+                    } catch (Throwable ex) {
+                        failures.add(ex);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "approvals did not finish");
+        }
+
+        return failures;
+    }
+
+    private Employee employee(String empCode, int totalPto, int totalClSl) {
+
+        Employee employee = employeeRepository.save(Employee.builder()
+                .empCode(empCode)
+                .firstName("Stress")
+                .lastName("Test")
+                .email(empCode.toLowerCase() + "@company.com")
+                .department("QA")
+                .designation("Tester")
+                .joiningDate(LocalDate.of(2030, 1, 1))
+                .active(true)
+                .build());
+
+        leaveBalanceRepository.save(LeaveBalance.builder()
+                .employee(employee)
+                .leaveYear(YEAR)
+                .totalPto(BigDecimal.valueOf(totalPto))
+                .usedPto(BigDecimal.ZERO)
+                .totalClSl(BigDecimal.valueOf(totalClSl))
+                .usedClSl(BigDecimal.ZERO)
+                .build());
+
+        return employee;
+    }
+
+    /**
+     * One-day requests on consecutive days from {@code firstDay} of the year.
+     */
+    private List<Long> pendingRequests(Employee employee, LeaveType type, int count, int firstDay) {
+
+        List<LeaveRequest> requests = IntStream.range(firstDay, firstDay + count)
+                .mapToObj(day -> LeaveRequest.builder()
+                        .employee(employee)
+                        .leaveType(type)
+                        .fromDate(LocalDate.ofYearDay(YEAR, day + 1))
+                        .toDate(LocalDate.ofYearDay(YEAR, day + 1))
+                        .totalDays(1)
+                        .status(LeaveStatus.PENDING)
+                        .appliedDate(LocalDate.now())
+                        .reason("stress")
+                        .build())
+                .toList();
+
+        return leaveRequestRepository.saveAll(requests).stream()
+                .map(LeaveRequest::getId)
+                .toList();
+    }
+
+    private LeaveBalance balanceOf(Employee employee) {
+        return leaveBalanceRepository.findByEmployeeAndLeaveYear(employee, YEAR).orElseThrow();
+    }
+
+    private long approvedCount(List<Long> requestIds) {
+        return leaveRequestRepository.findAllById(requestIds).stream()
+                .filter(request -> request.getStatus() == LeaveStatus.APPROVED)
+                .count();
+    }
+}
@@ -0,0 +1,179 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.LeaveDecision;
+import com.company.payroll.dto.LeaveDecisionRequest;
+import com.company.payroll.dto.LeaveDecisionResponse;
+import com.company.payroll.dto.LeaveDecisionResult;
+import com.company.payroll.dto.LeaveDecisionResult.Outcome;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.LeaveBalance;
+import com.company.payroll.entity.LeaveRequest;
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.LeaveType;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.LeaveBalanceRepository;
+import com.company.payroll.repository.LeaveRequestRepository;
+import com.company.payroll.service.LeaveRequestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static com.company.payroll.support.QueryCounts.assertAtMostStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class LeaveBulkDecisionTest {
+
+    private static final int YEAR = 2041;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Test
+    void reportsEachRequestAndApprovesOldestFirstWithinTheBalance() {
+
+        Employee employee = employee("BULK-MIXED", 3);
+        List<Long> ids = requests(employee, LeaveStatus.PENDING, 1, 1, 2);
+        Long decided = requests(employee, LeaveStatus.APPROVED, 1).get(0);
+
+        List<Long> submitted = new ArrayList<>(ids);
+        submitted.add(decided);
+        submitted.add(Long.MAX_VALUE);
+        submitted.add(ids.get(0));
+
+        LeaveDecisionResponse response = leaveRequestService.decideLeaves(
+                new LeaveDecisionRequest(submitted, LeaveDecision.APPROVE));
+
+        assertEquals(List.of(Outcome.APPROVED, Outcome.APPROVED, Outcome.INSUFFICIENT_BALANCE,
+                        Outcome.ALREADY_DECIDED, Outcome.NOT_FOUND),
+                response.results().stream().map(LeaveDecisionResult::outcome).toList());
+        assertEquals(2, response.applied());
+        assertEquals(3, response.failed());
+
+        assertEquals(0, BigDecimal.valueOf(2).compareTo(balanceOf(employee).getUsedPto()));
+        assertEquals(LeaveStatus.PENDING, leaveRequestRepository.findById(ids.get(2)).orElseThrow().getStatus());
+    }
+
+    @Test
+    void approvesOldestFirstWhateverTheSubmittedOrder() {
+
+        Employee employee = employee("BULK-REVERSED", 2);
+        List<Long> ids = requests(employee, LeaveStatus.PENDING, 2, 2);
+        Long older = ids.get(0);
+        Long newer = ids.get(1);
+
+        LeaveDecisionResponse response = leaveRequestService.decideLeaves(
+                new LeaveDecisionRequest(List.of(newer, older), LeaveDecision.APPROVE));
+
+        assertEquals(List.of(newer, older),
+                response.results().stream().map(LeaveDecisionResult::requestId).toList());
+        assertEquals(List.of(Outcome.INSUFFICIENT_BALANCE, Outcome.APPROVED),
+                response.results().stream().map(LeaveDecisionResult::outcome).toList());
+
+        assertEquals(LeaveStatus.APPROVED, leaveRequestRepository.findById(older).orElseThrow().getStatus());
+        assertEquals(LeaveStatus.PENDING, leaveRequestRepository.findById(newer).orElseThrow().getStatus());
+    }
+
+    @Test
+    void approvesHundredsOfRequestsInAFewStatements() throws Throwable {
+
+        List<Employee> employees = List.of(employee("BULK-A", 100), employee("BULK-B", 100), employee("BULK-C", 100));
+        List<Long> ids = new ArrayList<>();
+        employees.forEach(employee -> ids.addAll(requests(employee, LeaveStatus.PENDING, ones(100))));
+
+        AtomicReference<LeaveDecisionResponse> response = new AtomicReference<>();
+        assertAtMostStatements(12, () -> response.set(leaveRequestService.decideLeaves(
+                new LeaveDecisionRequest(ids, LeaveDecision.APPROVE))));
+
+        assertEquals(300, response.get().applied());
+        employees.forEach(employee ->
+                assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(employee).getUsedPto())));
+    }
+
+    @Test
+    void rejectionLeavesTheBalanceUntouched() {
+
+        Employee employee = employee("BULK-REJECT", 10);
+        List<Long> ids = requests(employee, LeaveStatus.PENDING, 1, 2);
+
+        LeaveDecisionResponse response = leaveRequestService.decideLeaves(
+                new LeaveDecisionRequest(ids, LeaveDecision.REJECT));
+
+        assertEquals(2, response.applied());
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceOf(employee).getUsedPto()));
+        leaveRequestRepository.findAllById(ids).forEach(request ->
+                assertEquals(LeaveStatus.REJECTED, request.getStatus()));
+    }
+
+    private Employee employee(String empCode, int totalPto) {
+
+        Employee employee = employeeRepository.save(Employee.builder()
+                .empCode(empCode)
+                .firstName("Bulk")
+                .lastName("Test")
+                .email(empCode.toLowerCase() + "@company.com")
+                .department("QA")
+                .designation("Tester")
+                .joiningDate(LocalDate.of(2030, 1, 1))
+                .active(true)
+                .build());
+
+        leaveBalanceRepository.save(LeaveBalance.builder()
+                .employee(employee)
+                .leaveYear(YEAR)
+                .totalPto(BigDecimal.valueOf(totalPto))
+                .usedPto(BigDecimal.ZERO)
+                .totalClSl(BigDecimal.ZERO)
+                .usedClSl(BigDecimal.ZERO)
+                .build());
+
+        return employee;
+    }
+
+    /**
+     * PTO requests of the given lengths on consecutive days of the year, in id order.
+     */
+    private List<Long> requests(Employee employee, LeaveStatus status, int... days) {
+
+        List<LeaveRequest> requests = IntStream.range(0, days.length)
+                .mapToObj(i -> LeaveRequest.builder()
+                        .employee(employee)
+                        .leaveType(LeaveType.PTO)
+                        .fromDate(LocalDate.ofYearDay(YEAR, i + 1))
+                        .toDate(LocalDate.ofYearDay(YEAR, i + 1))
+                        .totalDays(days[i])
+                        .status(status)
+                        .appliedDate(LocalDate.now())
+                        .reason("bulk")
+                        .build())
+                .toList();
+
+        return leaveRequestRepository.saveAll(requests).stream()
+                .map(LeaveRequest::getId)
+                .toList();
+    }
+
+    private static int[] ones(int count) {
+        return IntStream.generate(() -> 1).limit(count).toArray();
+    }
+
+    private LeaveBalance balanceOf(Employee employee) {
+        return leaveBalanceRepository.findByEmployeeAndLeaveYear(employee, YEAR).orElseThrow();
+    }
+}
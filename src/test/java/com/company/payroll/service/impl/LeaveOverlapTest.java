@@ -0,0 +1,219 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.LeaveRequestDto;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.LeaveBalance;
+import com.company.payroll.entity.LeaveRequest;
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.LeaveType;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.LeaveBalanceRepository;
+import com.company.payroll.repository.LeaveRequestRepository;
+import com.company.payroll.service.LeaveRequestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A leave submission may not overlap a pending or approved leave of the
+ * same employee, including when the stored leaves overlap one another and
+ * when identical submissions race.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class LeaveOverlapTest {
+
+    private static final int YEAR = 2042;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void overlapBeforeAfterNestedOrEnclosingIsRejected() {
+
+        Employee employee = employee("OVERLAP-SHAPES");
+        leave(employee, LeaveStatus.PENDING, 10, 14);
+
+        assertOverlap(employee, 5, 10);
+        assertOverlap(employee, 14, 18);
+        assertOverlap(employee, 11, 12);
+        assertOverlap(employee, 3, 20);
+    }
+
+    @Test
+    void overlapIsAConflictOverHttp() throws Exception {
+
+        Employee employee = employee("OVERLAP-HTTP");
+        leave(employee, LeaveStatus.APPROVED, 10, 14);
+
+        mockMvc.perform(post("/api/leaves")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"empCode":"%s","leaveType":"PTO","fromDate":"%s","toDate":"%s","reason":"test"}
+                                """.formatted(employee.getEmpCode(), march(12), march(13))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void touchingButDisjointRangesAreAccepted() {
+
+        Employee employee = employee("OVERLAP-TOUCH");
+        leave(employee, LeaveStatus.APPROVED, 10, 14);
+
+        assertDoesNotThrow(() -> apply(employee, 5, 9));
+        assertDoesNotThrow(() -> apply(employee, 15, 18));
+    }
+
+    @Test
+    void rejectedLeavesDoNotBlock() {
+
+        Employee employee = employee("OVERLAP-REJECTED");
+        leave(employee, LeaveStatus.REJECTED, 10, 14);
+
+        assertDoesNotThrow(() -> apply(employee, 10, 14));
+    }
+
+    /**
+     * Stored before the check existed: B lies inside A. B is the last leave
+     * starting before the new one, yet only A overlaps it.
+     */
+    @Test
+    void legacyOverlappingLeavesAreAllChecked() {
+
+        Employee employee = employee("OVERLAP-LEGACY");
+        leave(employee, LeaveStatus.APPROVED, 3, 20);
+        leave(employee, LeaveStatus.PENDING, 5, 6);
+
+        assertOverlap(employee, 10, 12);
+    }
+
+    @Test
+    void identicalConcurrentSubmissionsCreateOneLeave() throws InterruptedException {
+
+        Employee employee = employee("OVERLAP-RACE");
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger created = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        apply(employee, 10, 14);
+                        created.incrementAndGet();
+                    } catch (Throwable ex) {
+                        failures.add(ex);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "submissions did not finish");
+        }
+
+        assertEquals(1, created.get());
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(failure -> assertInstanceOf(IllegalStateException.class, failure));
+        assertEquals(1, leaveRequestRepository.findByEmployee(employee).size());
+    }
+
+    private void assertOverlap(Employee employee, int fromDay, int toDay) {
+        assertThrows(IllegalStateException.class, () -> apply(employee, fromDay, toDay),
+                () -> "March " + fromDay + " to " + toDay + " was accepted");
+    }
+
+    private void apply(Employee employee, int fromDay, int toDay) {
+
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setEmpCode(employee.getEmpCode());
+        dto.setLeaveType(LeaveType.PTO);
+        dto.setFromDate(march(fromDay));
+        dto.setToDate(march(toDay));
+        dto.setReason("test");
+
+        leaveRequestService.applyLeave(dto);
+    }
+
+    private Employee employee(String empCode) {
+
+        Employee employee = employeeRepository.save(Employee.builder()
+                .empCode(empCode)
+                .firstName("Overlap")
+                .lastName("Test")
+                .email(empCode.toLowerCase() + "@company.com")
+                .department("QA")
+                .designation("Tester")
+                .joiningDate(LocalDate.of(2030, 1, 1))
+                .active(true)
+                .build());
+
+        leaveBalanceRepository.save(LeaveBalance.builder()
+                .employee(employee)
+                .leaveYear(YEAR)
+                .totalPto(BigDecimal.valueOf(100))
+                .usedPto(BigDecimal.ZERO)
+                .totalClSl(BigDecimal.ZERO)
+                .usedClSl(BigDecimal.ZERO)
+                .build());
+
+        return employee;
+    }
+
+    /**
+     * Stores a leave directly, bypassing the overlap check.
+     */
+    private void leave(Employee employee, LeaveStatus status, int fromDay, int toDay) {
+        leaveRequestRepository.save(LeaveRequest.builder()
+                .employee(employee)
+                .leaveType(LeaveType.PTO)
+                .fromDate(march(fromDay))
+                .toDate(march(toDay))
+                .totalDays(toDay - fromDay + 1)
+                .status(status)
+                .appliedDate(LocalDate.now())
+                .reason("existing")
+                .build());
+    }
+
+    private static LocalDate march(int day) {
+        return LocalDate.of(YEAR, 3, day);
+    }
+}
@@ -0,0 +1,39 @@
+package com.company.payroll.service.impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * db-permits is bounded to half the pool (a permit holder can need two
+ * connections), even though the pool is wrapped by the statement counting proxy.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=6",
+        "payroll.engine.db-permits=6"
+})
+class PayrollComputationEnginePoolBoundTest {
+
+    @Autowired
+    private PayrollComputationEngine engine;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void dbPermitsAreBoundedByTheWrappedPool() throws Exception {
+
+        assertInstanceOf(ProxyDataSource.class, dataSource);
+        assertEquals(6, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+
+        assertEquals(3, engine.dbPermitLimit());
+    }
+}
@@ -0,0 +1,143 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.LeaveRequest;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.entity.enums.LeaveStatus;
+import com.company.payroll.entity.enums.LeaveType;
+import com.company.payroll.repository.HolidayRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class PayrollComputationEngineTest {
+
+    private static final int EMPLOYEES = 5_000;
+    private static final YearMonth PAY_MONTH = YearMonth.of(2026, 3);
+
+    private final PayrollCalculatorService calculator = new PayrollCalculatorService(
+            null, null, null, null,
+            new BusinessCalendarService(mock(HolidayRepository.class)),
+            null);
+
+    private final PayrollComputationEngine engine =
+            new PayrollComputationEngine("fork-join", 4, 97, 2);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.destroy();
+    }
+
+    @Test
+    void parallelComputationMatchesSerialPath() {
+
+        List<Input> inputs = syntheticInputs(new Random(42));
+        int workingDays = calculator.calculateWorkingDays(PAY_MONTH);
+
+        List<Payroll> serial = inputs.stream()
+                .map(in -> calculator.buildPayroll(in.employee, in.salary, in.leaves, PAY_MONTH, workingDays))
+                .toList();
+
+        List<Payroll> parallel = engine.computeAll(inputs, in ->
+                calculator.buildPayroll(in.employee, in.salary, in.leaves, PAY_MONTH, workingDays));
+
+        assertEquals(serial.size(), parallel.size());
+
+        for (int i = 0; i < serial.size(); i++) {
+            Payroll expected = serial.get(i);
+            Payroll actual = parallel.get(i);
+
+            assertEquals(expected.getEmployee().getId(), actual.getEmployee().getId());
+            assertEquals(expected.getGrossSalary(), actual.getGrossSalary());
+            assertEquals(expected.getPfAmount(), actual.getPfAmount());
+            assertEquals(expected.getTaxAmount(), actual.getTaxAmount());
+            assertEquals(expected.getLeaveDeduction(), actual.getLeaveDeduction());
+            assertEquals(expected.getTotalDeductions(), actual.getTotalDeductions());
+            assertEquals(expected.getNetSalary(), actual.getNetSalary());
+            assertEquals(expected.getWorkingDays(), actual.getWorkingDays());
+            assertEquals(expected.getPaidDays(), actual.getPaidDays());
+            assertEquals(expected.getLopDays(), actual.getLopDays());
+        }
+    }
+
+    @Test
+    void dbPermitsBoundConcurrentJdbcWork() {
+
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            items.add(i);
+        }
+
+        int[] inFlight = {0};
+        int[] maxInFlight = {0};
+
+        engine.mapPartitions(items, 1, partition -> engine.withDbPermit(() -> {
+            synchronized (inFlight) {
+                maxInFlight[0] = Math.max(maxInFlight[0], ++inFlight[0]);
+            }
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (inFlight) {
+                inFlight[0]--;
+            }
+            return partition;
+        }));
+
+        assertEquals(2, maxInFlight[0]);
+    }
+
+    private List<Input> syntheticInputs(Random random) {
+
+        List<Input> inputs = new ArrayList<>(EMPLOYEES);
+
+        for (long id = 1; id <= EMPLOYEES; id++) {
+
+            Employee employee = Employee.builder().id(id).build();
+
+            SalaryStructure salary = SalaryStructure.builder()
+                    .employee(employee)
+                    .basicSalary(amount(random, 10_000, 200_000))
+                    .hra(amount(random, 0, 80_000))
+                    .allowances(amount(random, 0, 40_000))
+                    .taxPercentage(BigDecimal.valueOf(random.nextInt(3_000), 2))
+                    .pfPercentage(BigDecimal.valueOf(random.nextInt(1_500), 2))
+                    .build();
+
+            List<LeaveRequest> leaves = new ArrayList<>();
+            for (int l = random.nextInt(4); l > 0; l--) {
+                LocalDate from = PAY_MONTH.atDay(1).plusDays(random.nextInt(40) - 5);
+                leaves.add(LeaveRequest.builder()
+                        .employee(employee)
+                        .leaveType(LeaveType.PTO)
+                        .status(LeaveStatus.APPROVED)
+                        .fromDate(from)
+                        .toDate(from.plusDays(random.nextInt(6)))
+                        .build());
+            }
+
+            inputs.add(new Input(employee, salary, leaves));
+        }
+
+        return inputs;
+    }
+
+    private static BigDecimal amount(Random random, int min, int max) {
+        return BigDecimal.valueOf((min + random.nextInt(max - min + 1)) * 100L + random.nextInt(100), 2);
+    }
+
+    private record Input(Employee employee, SalaryStructure salary, List<LeaveRequest> leaves) {
+    }
+}
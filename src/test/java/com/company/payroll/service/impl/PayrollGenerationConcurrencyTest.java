@@ -0,0 +1,147 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.PayrollResponse;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.PayrollMonthSummary;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.PayrollMonthSummaryRepository;
+import com.company.payroll.repository.PayrollRepository;
+import com.company.payroll.service.PayrollService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent "generate payroll" calls for one employee and month: no
+ * caller fails, all get the same payroll, and it is stored, summarised and
+ * counted in payroll.generated once.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class PayrollGenerationConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private PayrollCalculatorService payrollCalculatorService;
+
+    @Autowired
+    private PayrollMonthSummaryRepository payrollMonthSummaryRepository;
+
+    @Autowired
+    private PayrollMonthSummaryService payrollMonthSummaryService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentCallsCoalesceOntoOnePayroll() throws Exception {
+
+        Employee employee = employeeRepository.findAll().get(0);
+        YearMonth payMonth = YearMonth.of(2045, 1);
+
+        List<PayrollResponse> responses = race(() -> payrollService.generatePayroll(employee.getId(), payMonth));
+
+        assertSinglePayroll(employee, payMonth, responses);
+    }
+
+    /**
+     * Two service instances do not share in-flight work, like two nodes;
+     * the unique constraint decides and the loser answers with the winner's row.
+     */
+    @Test
+    void writersThatCannotCoalesceStillAgree() throws Exception {
+
+        Employee employee = employeeRepository.findAll().get(1);
+        PayrollGenerationService otherNode = new PayrollGenerationService(
+                payrollRepository, payrollCalculatorService, payrollMonthSummaryService, transactionManager);
+
+        for (int month = 1; month <= 6; month++) {
+
+            YearMonth payMonth = YearMonth.of(2046, month);
+            List<PayrollResponse> responses = new ArrayList<>();
+            double generated = generatedCount();
+
+            responses.addAll(race(() -> payrollService.generatePayroll(employee.getId(), payMonth),
+                    () -> otherNode.getOrGenerate(employee.getId(), payMonth)));
+
+            assertSinglePayroll(employee, payMonth, responses);
+            assertEquals(generated + 1, generatedCount(), "payroll.generated counted a rolled back insert");
+        }
+    }
+
+    private double generatedCount() {
+        Counter counter = meterRegistry.find("payroll.generated").tag("source", "single").counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @SafeVarargs
+    private List<PayrollResponse> race(Callable<PayrollResponse>... callers) throws Exception {
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<PayrollResponse>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                Callable<PayrollResponse> caller = callers[i % callers.length];
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return caller.call();
+                }));
+            }
+            start.countDown();
+
+            List<PayrollResponse> responses = new ArrayList<>();
+            for (Future<PayrollResponse> future : futures) {
+                responses.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertSinglePayroll(Employee employee, YearMonth payMonth, List<PayrollResponse> responses) {
+
+        Long payrollId = payrollRepository.findByEmployeeIdAndPayMonth(employee.getId(), payMonth)
+                .orElseThrow()
+                .getId();
+
+        assertEquals(THREADS, responses.size());
+        assertTrue(responses.stream().allMatch(response -> response.payrollId().equals(payrollId)),
+                () -> "responses name different payrolls: " + responses);
+
+        long counted = payrollMonthSummaryRepository.findByPayMonthOrderByDepartment(payMonth).stream()
+                .mapToLong(PayrollMonthSummary::getGeneratedCount)
+                .sum();
+        assertEquals(1, counted);
+    }
+}
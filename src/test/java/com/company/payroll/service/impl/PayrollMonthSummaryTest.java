@@ -0,0 +1,172 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.PayrollMonthSummaryResponse;
+import com.company.payroll.dto.PayrollRunResponse;
+import com.company.payroll.dto.PayrollSummaryRow;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.PayrollMonthSummary;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.entity.enums.PayrollStatus;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.PayrollMonthSummaryRepository;
+import com.company.payroll.repository.PayrollRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import com.company.payroll.service.PayrollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The month summary kept up by single generation, a chunked run and a
+ * status change, then repaired by a rebuild. One employee changes
+ * department after being paid for the month; their payroll stays counted
+ * under the department it was generated in. Runs on a database of its own,
+ * so the run covers a known set of employees.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:payroll-month-summary-test",
+        "payroll.run.chunk-size=3"
+})
+class PayrollMonthSummaryTest {
+
+    private static final YearMonth PAY_MONTH = YearMonth.of(2049, 1);
+    private static final String SALES = "Summary Sales";
+    private static final String SUPPORT = "Summary Support";
+
+    @Autowired
+    private PayrollMonthSummaryService payrollMonthSummaryService;
+
+    @Autowired
+    private PayrollRunService payrollRunService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryStructureRepository salaryStructureRepository;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private PayrollMonthSummaryRepository payrollMonthSummaryRepository;
+
+    @Test
+    void keepsTotalsUnderTheDepartmentOfGenerationAndRebuildsTamperedRows() {
+
+        Employee mover = employee("SUMMARY-1", SALES);
+        Employee paid = employee("SUMMARY-2", SALES);
+        employee("SUMMARY-3", SALES);
+        employee("SUMMARY-4", SUPPORT);
+
+        // One payroll on its own, the other eight (five seeded) by a run of three chunks
+        Long moverPayroll = payrollService.generatePayroll(mover.getId(), PAY_MONTH).payrollId();
+        PayrollRunResponse run = payrollRunService.runPayroll(PAY_MONTH);
+        assertEquals(8, run.created());
+        assertEquals(1, run.skipped());
+
+        payrollService.updatePayrollStatus(payrollOf(paid), PayrollStatus.PAID);
+
+        // Moves after generation, then gets paid
+        mover.setDepartment(SUPPORT);
+        employeeRepository.save(mover);
+        payrollService.updatePayrollStatus(moverPayroll, PayrollStatus.PAID);
+
+        PayrollMonthSummaryResponse summary = payrollMonthSummaryService.getMonthSummary(PAY_MONTH);
+        assertEquals(expected(), summary.departments());
+        assertEquals(9, summary.total().headcount());
+
+        Map<String, PayrollSummaryRow> byDepartment = new TreeMap<>();
+        summary.departments().forEach(row -> byDepartment.put(row.department(), row));
+        assertEquals(1, byDepartment.get(SALES).generatedCount());
+        assertEquals(2, byDepartment.get(SALES).paidCount());
+        assertEquals(1, byDepartment.get(SUPPORT).generatedCount());
+        assertEquals(0, byDepartment.get(SUPPORT).paidCount());
+
+        // Drift one row, leave a row for a department with no payrolls
+        PayrollMonthSummary sales = payrollMonthSummaryRepository.findByPayMonthOrderByDepartment(PAY_MONTH)
+                .stream()
+                .filter(row -> row.getDepartment().equals(SALES))
+                .findFirst()
+                .orElseThrow();
+        sales.setGeneratedCount(40L);
+        sales.setNetTotal(BigDecimal.ZERO);
+        payrollMonthSummaryRepository.save(sales);
+
+        PayrollMonthSummary stray = PayrollMonthSummary.empty(PAY_MONTH, "Summary Closed");
+        stray.setGeneratedCount(3L);
+        payrollMonthSummaryRepository.save(stray);
+
+        assertEquals(summary, payrollMonthSummaryService.rebuild(PAY_MONTH));
+        assertEquals(summary, payrollMonthSummaryService.getMonthSummary(PAY_MONTH));
+    }
+
+    /**
+     * The month's payroll rows totalled per department they were generated in.
+     */
+    private List<PayrollSummaryRow> expected() {
+
+        Map<String, PayrollSummaryRow> rows = new TreeMap<>();
+
+        for (Payroll payroll : payrollRepository.findByPayMonth(PAY_MONTH)) {
+            boolean isPaid = payroll.getStatus() == PayrollStatus.PAID;
+            PayrollSummaryRow row = new PayrollSummaryRow(payroll.getDepartment(), 1,
+                    isPaid ? 0 : 1, isPaid ? 1 : 0,
+                    payroll.getGrossSalary(), payroll.getPfAmount(), payroll.getTaxAmount(),
+                    payroll.getLeaveDeduction(), payroll.getNetSalary());
+            rows.merge(payroll.getDepartment(), row, (a, b) -> withDepartment(a.plus(b), a.department()));
+        }
+
+        return List.copyOf(rows.values());
+    }
+
+    private static PayrollSummaryRow withDepartment(PayrollSummaryRow row, String department) {
+        return new PayrollSummaryRow(department, row.headcount(), row.generatedCount(), row.paidCount(),
+                row.grossTotal(), row.pfTotal(), row.taxTotal(), row.lopTotal(), row.netTotal());
+    }
+
+    private Long payrollOf(Employee employee) {
+        return payrollRepository.findByEmployeeIdAndPayMonth(employee.getId(), PAY_MONTH)
+                .orElseThrow()
+                .getId();
+    }
+
+    private Employee employee(String empCode, String department) {
+
+        Employee employee = employeeRepository.save(Employee.builder()
+                .empCode(empCode)
+                .firstName("Summary")
+                .lastName("Test")
+                .email(empCode.toLowerCase() + "@company.com")
+                .department(department)
+                .designation("Tester")
+                .joiningDate(LocalDate.of(2030, 1, 1))
+                .active(true)
+                .build());
+
+        salaryStructureRepository.save(SalaryStructure.builder()
+                .employee(employee)
+                .basicSalary(BigDecimal.valueOf(50_000))
+                .hra(BigDecimal.valueOf(20_000))
+                .allowances(BigDecimal.valueOf(5_000))
+                .taxPercentage(BigDecimal.TEN)
+                .pfPercentage(BigDecimal.valueOf(12))
+                .build());
+
+        return employee;
+    }
+}
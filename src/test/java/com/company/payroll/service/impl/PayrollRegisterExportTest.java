@@ -0,0 +1,161 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.ExportFormat;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.PayrollRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import com.company.payroll.service.PayrollService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A small month's register written as CSV and NDJSON, with names that need
+ * RFC 4180 quoting and values a spreadsheet would run as formulas.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class PayrollRegisterExportTest {
+
+    private static final YearMonth CSV_MONTH = YearMonth.of(2048, 7);
+    private static final YearMonth NDJSON_MONTH = YearMonth.of(2048, 8);
+
+    @Autowired
+    private PayrollRegisterExportService payrollRegisterExportService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryStructureRepository salaryStructureRepository;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writesQuotedAndFormulaSafeCsv() throws IOException {
+
+        Payroll awkward = payroll(employee("EXPORT-1", "=HYPERLINK(\"x\")", "O\"Brien, Jr", "R&D, Labs", "-Lead"),
+                CSV_MONTH);
+        Payroll plain = payroll(employee("EXPORT-2", "Plain", "Row", "QA", "Tester"), CSV_MONTH);
+
+        String csv = write(CSV_MONTH, ExportFormat.CSV);
+
+        String expected = PayrollRegisterExportService.CSV_HEADER + "\n"
+                + line(awkward, "EXPORT-1", "\"'=HYPERLINK(\"\"x\"\") O\"\"Brien, Jr\"", "\"R&D, Labs\"", "'-Lead")
+                + line(plain, "EXPORT-2", "Plain Row", "QA", "Tester");
+
+        assertEquals(expected, csv);
+        assertEquals("payroll_id,employee_id,emp_code,employee_name,department,designation,pay_month,"
+                        + "working_days,paid_days,lop_days,gross_salary,pf_amount,tax_amount,leave_deduction,"
+                        + "total_deductions,net_salary,status,processed_date",
+                csv.substring(0, csv.indexOf('\n')));
+    }
+
+    @Test
+    void writesOneJsonObjectPerLineWithRawValues() throws IOException {
+
+        Payroll awkward = payroll(employee("EXPORT-3", "=SUM(A1)", "Smith, \"Jr\"", "QA", "Tester"), NDJSON_MONTH);
+        payroll(employee("EXPORT-4", "Plain", "Row", "QA", "Tester"), NDJSON_MONTH);
+
+        String ndjson = write(NDJSON_MONTH, ExportFormat.NDJSON);
+
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+
+        JsonNode row = rows.stream()
+                .filter(node -> node.get("payrollId").asLong() == awkward.getId())
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals("=SUM(A1) Smith, \"Jr\"", row.get("employeeName").asText());
+        assertEquals("EXPORT-3", row.get("empCode").asText());
+        assertEquals(NDJSON_MONTH.toString(), row.get("payMonth").asText());
+        assertEquals(0, awkward.getNetSalary().compareTo(row.get("netSalary").decimalValue()));
+        assertEquals("GENERATED", row.get("status").asText());
+        assertEquals(2, rows.size());
+    }
+
+    private String write(YearMonth payMonth, ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payrollRegisterExportService.write(payMonth, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String line(Payroll payroll, String empCode, String name, String department, String designation) {
+        return String.join(",",
+                payroll.getId().toString(),
+                payroll.getEmployee().getId().toString(),
+                empCode,
+                name,
+                department,
+                designation,
+                payroll.getPayMonth().toString(),
+                payroll.getWorkingDays().toString(),
+                payroll.getPaidDays().toString(),
+                payroll.getLopDays().toString(),
+                payroll.getGrossSalary().toPlainString(),
+                payroll.getPfAmount().toPlainString(),
+                payroll.getTaxAmount().toPlainString(),
+                payroll.getLeaveDeduction().toPlainString(),
+                payroll.getTotalDeductions().toPlainString(),
+                payroll.getNetSalary().toPlainString(),
+                "GENERATED",
+                payroll.getProcessedDate().toString()) + "\n";
+    }
+
+    private Payroll payroll(Employee employee, YearMonth payMonth) {
+        Long payrollId = payrollService.generatePayroll(employee.getId(), payMonth).payrollId();
+        return payrollRepository.findWithEmployee(employee.getId(), payMonth)
+                .filter(payroll -> payroll.getId().equals(payrollId))
+                .orElseThrow();
+    }
+
+    private Employee employee(String empCode, String firstName, String lastName, String department, String designation) {
+
+        Employee employee = employeeRepository.save(Employee.builder()
+                .empCode(empCode)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(empCode.toLowerCase() + "@company.com")
+                .department(department)
+                .designation(designation)
+                .joiningDate(LocalDate.of(2030, 1, 1))
+                .active(true)
+                .build());
+
+        salaryStructureRepository.save(SalaryStructure.builder()
+                .employee(employee)
+                .basicSalary(BigDecimal.valueOf(50_000))
+                .hra(BigDecimal.valueOf(20_000))
+                .allowances(BigDecimal.valueOf(5_000))
+                .taxPercentage(BigDecimal.TEN)
+                .pfPercentage(BigDecimal.valueOf(12))
+                .build());
+
+        return employee;
+    }
+}
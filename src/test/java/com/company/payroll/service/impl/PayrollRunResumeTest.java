@@ -0,0 +1,213 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.PayrollRunFailure;
+import com.company.payroll.dto.PayrollRunProgress;
+import com.company.payroll.dto.PayrollRunResponse;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.PayrollRun;
+import com.company.payroll.entity.PayrollRunChunk;
+import com.company.payroll.entity.PayrollRunError;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.entity.enums.PayrollRunStatus;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.PayrollRepository;
+import com.company.payroll.repository.PayrollRunChunkRepository;
+import com.company.payroll.repository.PayrollRunErrorRepository;
+import com.company.payroll.repository.PayrollRunRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import com.company.payroll.service.PayrollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resuming a run that stopped with its checkpoint part way through and one
+ * later chunk already committed out of order. Runs on a database of its
+ * own, so every active employee is known.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:payroll-run-resume-test"
+})
+class PayrollRunResumeTest {
+
+    private static final YearMonth PAY_MONTH = YearMonth.of(2047, 2);
+    private static final int CHUNK_SIZE = 3;
+    private static final String NO_SALARY = "Salary structure not found";
+
+    @Autowired
+    private PayrollRunService payrollRunService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryStructureRepository salaryStructureRepository;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    private PayrollRunChunkRepository payrollRunChunkRepository;
+
+    @Autowired
+    private PayrollRunErrorRepository payrollRunErrorRepository;
+
+    @Test
+    void resumesPastCommittedChunksAndFinishesTheCounts() {
+
+        for (int i = 1; i <= 8; i++) {
+            employee("RESUME-" + i, i != 3 && i != 6);
+        }
+
+        // s0..s4 seeded, then RESUME-1..8; the first attempt used chunks of 3:
+        // [s0 s1 s2] [s3 s4 R1] [R2 R3 R4] [R5 R6 R7] [R8]
+        List<Employee> active = employeeRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(0L);
+        assertEquals(13, active.size(), "expected the five seeded employees and eight of this test");
+
+        // The first attempt committed chunks 0 and 2, then stopped
+        List<Employee> firstChunk = active.subList(0, 3);
+        List<Employee> outOfOrderChunk = active.subList(6, 9);
+        Employee failedBefore = active.get(7);
+        Employee failsOnResume = active.get(10);
+        Employee paidByHand = active.get(11);
+
+        Map<Long, Long> committedPayrolls = new HashMap<>();
+        for (Employee employee : List.of(firstChunk.get(0), firstChunk.get(1), firstChunk.get(2),
+                outOfOrderChunk.get(0), outOfOrderChunk.get(2))) {
+            committedPayrolls.put(employee.getId(),
+                    payrollService.generatePayroll(employee.getId(), PAY_MONTH).payrollId());
+        }
+
+        PayrollRun run = interruptedRun(firstChunk, outOfOrderChunk, failedBefore);
+
+        // Paid on its own while the run was down
+        Long paidByHandPayroll = payrollService.generatePayroll(paidByHand.getId(), PAY_MONTH).payrollId();
+
+        PayrollRunResponse response = payrollRunService.resumeRun(run.getId());
+
+        assertEquals("COMPLETED", response.status());
+        assertEquals(13, response.totalEmployees());
+        assertEquals(10, response.created());
+        assertEquals(1, response.skipped());
+        assertEquals(2, response.failed());
+        assertEquals(List.of(new PayrollRunFailure(failedBefore.getId(), NO_SALARY),
+                        new PayrollRunFailure(failsOnResume.getId(), NO_SALARY)),
+                payrollRunService.getErrors(run.getId()));
+
+        PayrollRunProgress progress = payrollRunService.getProgress(run.getId());
+        assertEquals(13, progress.processedEmployees());
+        assertEquals(13, progress.totalEmployees());
+        assertEquals(active.get(12).getId(), progress.checkpointEmployeeId());
+        assertEquals(2 + 3, progress.chunksCommitted());
+        assertEquals(0L, progress.etaSeconds());
+
+        Map<Long, List<Payroll>> stored = payrollRepository.findByPayMonth(PAY_MONTH).stream()
+                .collect(Collectors.groupingBy(p -> p.getEmployee().getId()));
+
+        assertEquals(11, stored.size());
+        assertTrue(stored.values().stream().allMatch(rows -> rows.size() == 1));
+        committedPayrolls.forEach((employeeId, payrollId) ->
+                assertEquals(payrollId, stored.get(employeeId).get(0).getId()));
+        assertEquals(paidByHandPayroll, stored.get(paidByHand.getId()).get(0).getId());
+
+        assertThrows(IllegalStateException.class, () -> payrollRunService.resumeRun(run.getId()));
+    }
+
+    /**
+     * A run left RUNNING by a stopped node: checkpoint at the end of the
+     * first chunk, the third chunk committed with its error row.
+     */
+    private PayrollRun interruptedRun(List<Employee> firstChunk,
+                                      List<Employee> outOfOrderChunk,
+                                      Employee failed) {
+
+        LocalDateTime started = LocalDateTime.now().minusMinutes(5);
+        PayrollRun run = payrollRunRepository.save(PayrollRun.builder()
+                .payMonth(PAY_MONTH)
+                .status(PayrollRunStatus.RUNNING)
+                .chunkSize(CHUNK_SIZE)
+                .totalEmployees(13)
+                .processedEmployees(6)
+                .createdCount(5)
+                .skippedCount(0)
+                .failedCount(1)
+                .checkpointEmployeeId(firstChunk.get(2).getId())
+                .startedAt(started)
+                .attemptStartedAt(started)
+                .processedAtAttemptStart(0)
+                .build());
+
+        List<PayrollRunChunk> chunks = new ArrayList<>();
+        chunks.add(chunk(run, firstChunk, 3, 0));
+        chunks.add(chunk(run, outOfOrderChunk, 2, 1));
+        payrollRunChunkRepository.saveAll(chunks);
+
+        payrollRunErrorRepository.save(PayrollRunError.builder()
+                .run(run)
+                .employeeId(failed.getId())
+                .reason(NO_SALARY)
+                .build());
+
+        return run;
+    }
+
+    private static PayrollRunChunk chunk(PayrollRun run, List<Employee> employees, int created, int failed) {
+        return PayrollRunChunk.builder()
+                .run(run)
+                .firstEmployeeId(employees.get(0).getId())
+                .lastEmployeeId(employees.get(employees.size() - 1).getId())
+                .employeeCount(employees.size())
+                .createdCount(created)
+                .skippedCount(0)
+                .failedCount(failed)
+                .durationMillis(10L)
+                .build();
+    }
+
+    private void employee(String empCode, boolean withSalary) {
+
+        Employee employee = employeeRepository.save(Employee.builder()
+                .empCode(empCode)
+                .firstName("Resume")
+                .lastName("Test")
+                .email(empCode.toLowerCase() + "@company.com")
+                .department("QA")
+                .designation("Tester")
+                .joiningDate(LocalDate.of(2030, 1, 1))
+                .active(true)
+                .build());
+
+        if (withSalary) {
+            salaryStructureRepository.save(SalaryStructure.builder()
+                    .employee(employee)
+                    .basicSalary(BigDecimal.valueOf(50_000))
+                    .hra(BigDecimal.valueOf(20_000))
+                    .allowances(BigDecimal.valueOf(5_000))
+                    .taxPercentage(BigDecimal.TEN)
+                    .pfPercentage(BigDecimal.valueOf(12))
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.dto.PayrollRunFailure;
+import com.company.payroll.dto.PayrollRunResponse;
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.PayrollRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import com.company.payroll.service.PayrollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * A month run over a database of its own, so every active employee is
+ * known: employees paid before the run are skipped, one without a salary
+ * structure fails, and a payroll stored by another writer after the run
+ * read the month makes its chunk fall back to row-by-row inserts.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:payroll-run-test",
+        "payroll.run.chunk-size=3"
+})
+class PayrollRunTest {
+
+    private static final YearMonth PAY_MONTH = YearMonth.of(2047, 1);
+
+    @Autowired
+    private PayrollRunService payrollRunService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryStructureRepository salaryStructureRepository;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @MockitoSpyBean
+    private PayrollCalculatorService payrollCalculatorService;
+
+    @Test
+    void countsCreatedSkippedAndFailedAndStoresOneRowPerPaidEmployee() {
+
+        Employee paidFirst = employeeRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(0L).get(0);
+        Employee paidBefore = employee("RUN-1", true);
+        Employee fallbackNeighbour = employee("RUN-2", true);
+        Employee noSalary = employee("RUN-3", false);
+        Employee paidDuringRun = employee("RUN-4", true);
+        employee("RUN-5", true);
+
+        List<Employee> active = employeeRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(0L);
+        assertEquals(10, active.size(), "expected the five seeded employees and five of this test");
+
+        // Chunks of 3 in id order: RUN-2, RUN-3 and RUN-4 share the third one
+        Long firstPayroll = payrollService.generatePayroll(paidFirst.getId(), PAY_MONTH).payrollId();
+        Long beforePayroll = payrollService.generatePayroll(paidBefore.getId(), PAY_MONTH).payrollId();
+
+        // Another writer stores RUN-4's payroll after the run has read the month
+        AtomicBoolean written = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (written.compareAndSet(false, true)) {
+                payrollService.generatePayroll(paidDuringRun.getId(), PAY_MONTH);
+            }
+            return invocation.callRealMethod();
+        }).when(payrollCalculatorService).calculateWorkingDays(PAY_MONTH);
+
+        PayrollRunResponse response = payrollRunService.runPayroll(PAY_MONTH);
+
+        assertTrue(written.get());
+        assertEquals("COMPLETED", response.status());
+        assertEquals(10, response.totalEmployees());
+        assertEquals(6, response.created());
+        assertEquals(3, response.skipped());
+        assertEquals(1, response.failed());
+        assertEquals(List.of(new PayrollRunFailure(noSalary.getId(), "Salary structure not found")),
+                response.failures());
+
+        Map<Long, List<Payroll>> stored = payrollRepository.findByPayMonth(PAY_MONTH).stream()
+                .collect(Collectors.groupingBy(p -> p.getEmployee().getId()));
+
+        assertEquals(9, stored.size());
+        assertTrue(stored.values().stream().allMatch(rows -> rows.size() == 1));
+        assertFalse(stored.containsKey(noSalary.getId()));
+        assertTrue(stored.containsKey(fallbackNeighbour.getId()), "row-by-row retry lost RUN-2");
+        assertEquals(firstPayroll, stored.get(paidFirst.getId()).get(0).getId());
+        assertEquals(beforePayroll, stored.get(paidBefore.getId()).get(0).getId());
+    }
+
+    private Employee employee(String empCode, boolean withSalary) {
+
+        Employee employee = employeeRepository.save(Employee.builder()
+                .empCode(empCode)
+                .firstName("Run")
+                .lastName("Test")
+                .email(empCode.toLowerCase() + "@company.com")
+                .department("QA")
+                .designation("Tester")
+                .joiningDate(LocalDate.of(2030, 1, 1))
+                .active(true)
+                .build());
+
+        if (withSalary) {
+            salaryStructureRepository.save(SalaryStructure.builder()
+                    .employee(employee)
+                    .basicSalary(BigDecimal.valueOf(50_000))
+                    .hra(BigDecimal.valueOf(20_000))
+                    .allowances(BigDecimal.valueOf(5_000))
+                    .taxPercentage(BigDecimal.TEN)
+                    .pfPercentage(BigDecimal.valueOf(12))
+                    .build());
+        }
+
+        return employee;
+    }
+}
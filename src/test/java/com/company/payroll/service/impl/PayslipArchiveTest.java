@@ -0,0 +1,112 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.SalaryStructure;
+import com.company.payroll.entity.enums.PayrollStatus;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.repository.SalaryStructureRepository;
+import com.company.payroll.service.PayrollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A month's payslip archive read back entry by entry. Pages of two
+ * payrolls and two PDFs in flight make the five payslips span pages.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "payroll.payslip-archive.page-size=2",
+        "payroll.payslip-archive.max-in-flight=2"
+})
+class PayslipArchiveTest {
+
+    private static final YearMonth PAY_MONTH = YearMonth.of(2048, 3);
+    private static final int EMPLOYEES = 5;
+
+    @Autowired
+    private PayslipArchiveService payslipArchiveService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryStructureRepository salaryStructureRepository;
+
+    @Test
+    void writesOnePdfEntryPerPayroll() throws IOException {
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            Employee employee = employee("ARCHIVE-" + i);
+            Long payrollId = payrollService.generatePayroll(employee.getId(), PAY_MONTH).payrollId();
+            if (i % 2 == 0) {
+                payrollService.updatePayrollStatus(payrollId, PayrollStatus.PAID);
+            }
+            expected.add("payslip-ARCHIVE-" + i + "-" + PAY_MONTH + ".pdf");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payslipArchiveService.writeMonthArchive(PAY_MONTH, out);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                byte[] pdf = zip.readAllBytes();
+                assertEquals("%PDF", new String(Arrays.copyOf(pdf, 4), StandardCharsets.ISO_8859_1),
+                        entry.getName());
+            }
+        }
+
+        assertEquals(EMPLOYEES, names.size());
+        assertEquals(expected, new HashSet<>(names));
+        assertEquals(EMPLOYEES, payslipArchiveService.countPayslips(PAY_MONTH));
+    }
+
+    private Employee employee(String empCode) {
+
+        Employee employee = employeeRepository.save(Employee.builder()
+                .empCode(empCode)
+                .firstName("Archive")
+                .lastName("Test")
+                .email(empCode.toLowerCase() + "@company.com")
+                .department("QA")
+                .designation("Tester")
+                .joiningDate(LocalDate.of(2030, 1, 1))
+                .active(true)
+                .build());
+
+        salaryStructureRepository.save(SalaryStructure.builder()
+                .employee(employee)
+                .basicSalary(BigDecimal.valueOf(50_000))
+                .hra(BigDecimal.valueOf(20_000))
+                .allowances(BigDecimal.valueOf(5_000))
+                .taxPercentage(BigDecimal.TEN)
+                .pfPercentage(BigDecimal.valueOf(12))
+                .build());
+
+        return employee;
+    }
+}
@@ -0,0 +1,136 @@
+package com.company.payroll.service.impl;
+
+import com.company.payroll.entity.Employee;
+import com.company.payroll.entity.Payroll;
+import com.company.payroll.entity.enums.PayrollStatus;
+import com.company.payroll.service.impl.PayslipTemplate.Field;
+import com.itextpdf.kernel.geom.Vector;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The template path must put every glyph where the full layout puts it,
+ * and hand values too wide for their box to the full layout.
+ */
+class PayslipTemplateTest {
+
+    private final PayslipTemplate template = PayslipTemplate.build();
+
+    @Test
+    void templateGlyphsMatchTheFullLayout() throws IOException {
+
+        Map<Field, String> values = PaySlipServiceImpl.values(payroll("Ravi", "Kumar"));
+
+        byte[] filled = template.render(values);
+        byte[] laidOut = PayslipTemplate.renderWithLayout(values);
+
+        // The template path appends the values as a content stream of their own
+        assertTrue(contentStreams(filled) > contentStreams(laidOut), "expected the template path");
+        assertEquals(text(laidOut), text(filled));
+        assertEquals(glyphs(laidOut), glyphs(filled));
+    }
+
+    @Test
+    void valueWiderThanItsBoxFallsBackToTheFullLayout() throws IOException {
+
+        String longLastName = "Venkatanarasimharajuvaripeta Subrahmanyam Chandrasekharan";
+        Map<Field, String> values = PaySlipServiceImpl.values(payroll("Ravi", longLastName));
+
+        byte[] rendered = template.render(values);
+        byte[] laidOut = PayslipTemplate.renderWithLayout(values);
+
+        assertEquals(contentStreams(laidOut), contentStreams(rendered), "expected the full layout");
+        assertEquals(glyphs(laidOut), glyphs(rendered));
+        assertTrue(text(rendered).contains("Chandrasekharan"));
+    }
+
+    private static Payroll payroll(String firstName, String lastName) {
+
+        Employee employee = Employee.builder()
+                .id(42L)
+                .empCode("EMP-42")
+                .firstName(firstName)
+                .lastName(lastName)
+                .designation("Software Engineer")
+                .joiningDate(LocalDate.of(2022, 3, 15))
+                .build();
+
+        return Payroll.builder()
+                .employee(employee)
+                .payMonth(YearMonth.of(2026, 1))
+                .grossSalary(new BigDecimal("75000.00"))
+                .pfAmount(new BigDecimal("6000.00"))
+                .taxAmount(new BigDecimal("7500.00"))
+                .leaveDeduction(new BigDecimal("2500.00"))
+                .totalDeductions(new BigDecimal("16000.00"))
+                .netSalary(new BigDecimal("59000.00"))
+                .workingDays(22)
+                .paidDays(21)
+                .lopDays(1)
+                .status(PayrollStatus.GENERATED)
+                .build();
+    }
+
+    private static int contentStreams(byte[] pdf) throws IOException {
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            return document.getFirstPage().getContentStreamCount();
+        }
+    }
+
+    private static String text(byte[] pdf) throws IOException {
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            return PdfTextExtractor.getTextFromPage(document.getFirstPage());
+        }
+    }
+
+    /**
+     * Every glyph with the start of its baseline, in a stable order.
+     */
+    private static List<String> glyphs(byte[] pdf) throws IOException {
+
+        List<String> glyphs = new ArrayList<>();
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            new PdfCanvasProcessor(new IEventListener() {
+
+                @Override
+                public void eventOccurred(IEventData data, EventType type) {
+                    for (TextRenderInfo glyph : ((TextRenderInfo) data).getCharacterRenderInfos()) {
+                        Vector start = glyph.getBaseline().getStartPoint();
+                        glyphs.add(String.format("%s@%.2f,%.2f",
+                                glyph.getText(), start.get(Vector.I1), start.get(Vector.I2)));
+                    }
+                }
+
+                @Override
+                public Set<EventType> getSupportedEvents() {
+                    return Set.of(EventType.RENDER_TEXT);
+                }
+            }).processPageContent(document.getFirstPage());
+        }
+
+        Collections.sort(glyphs);
+        return glyphs;
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.payroll.sql;
+
+import com.company.payroll.dto.QueryBudgetOffender;
+import com.company.payroll.repository.EmployeeRepository;
+import com.company.payroll.service.PayrollService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.YearMonth;
+
+import static com.company.payroll.support.QueryCounts.assertStatements;
+import static com.company.payroll.support.QueryCounts.count;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the hot read paths, and the N+1 detector itself.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    private static final YearMonth PAY_MONTH = YearMonth.of(2030, 7);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private QueryBudgetMonitor queryBudgetMonitor;
+
+    @Test
+    void employeePayrollLookupIsOneStatementThenCached() throws Throwable {
+
+        Long employeeId = employeeRepository.findAll().get(0).getId();
+        payrollService.generatePayroll(employeeId, PAY_MONTH);
+
+        assertStatements(1, () -> payrollService.getEmployeePayroll(employeeId, PAY_MONTH));
+        assertStatements(0, () -> payrollService.getEmployeePayroll(employeeId, PAY_MONTH));
+    }
+
+    @Test
+    void hrPayrollViewPageIsOneStatement() throws Throwable {
+        assertStatements(1, () -> mockMvc.perform(get("/api/hr/payroll-view")
+                        .param("year", "2030")
+                        .param("month", "7"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void leaveInboxPageIsOneStatement() throws Throwable {
+        assertStatements(1, () -> mockMvc.perform(get("/api/leaves")
+                        .param("status", "APPROVED"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void repeatedStatementShapeIsFlagged() throws Throwable {
+
+        QueryScope scope = count(() -> {
+            for (int i = 0; i < 12; i++) {
+                employeeRepository.findByEmpCode("NPLUS1-" + i);
+            }
+        });
+
+        assertEquals(12, scope.statements());
+        assertEquals(12, scope.mostRepeated().getValue());
+
+        queryBudgetMonitor.complete("test N+1", scope);
+
+        QueryBudgetOffender offender = queryBudgetMonitor.offenders(Integer.MAX_VALUE).stream()
+                .filter(o -> o.scope().equals("test N+1"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, offender.violations());
+        assertTrue(offender.mostRepeatedStatement().startsWith("select"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.company.payroll.support;
+
+import com.company.payroll.sql.QueryScope;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query count assertions for integration tests.
+ * <p>
+ * Counts the SQL statements {@code action} executes on the test thread
+ * (MockMvc requests included), so a new N+1 fails the build:
+ * <pre>{@code
+ * QueryCounts.assertStatements(1, () -> payrollService.getEmployeePayroll(id, month));
+ * }</pre>
+ */
+public final class QueryCounts {
+
+    private QueryCounts() {
+    }
+
+    public static QueryScope count(Executable action) throws Throwable {
+        try (QueryScope scope = QueryScope.open("test")) {
+            action.execute();
+            return scope;
+        }
+    }
+
+    public static void assertStatements(int expected, Executable action) throws Throwable {
+        QueryScope scope = count(action);
+        assertEquals(expected, scope.statements(), () -> describe(scope));
+    }
+
+    public static void assertAtMostStatements(int max, Executable action) throws Throwable {
+        QueryScope scope = count(action);
+        assertTrue(scope.statements() <= max,
+                () -> "expected at most " + max + " statements; " + describe(scope));
+    }
+
+    /**
+     * Fails when any statement shape runs more than {@code maxRepeats} times.
+     */
+    public static void assertNoRepeatedStatements(int maxRepeats, Executable action) throws Throwable {
+        QueryScope scope = count(action);
+        Map.Entry<String, Integer> repeated = scope.mostRepeated();
+        assertTrue(repeated == null || repeated.getValue() <= maxRepeats,
+                () -> "N+1: " + repeated.getValue() + " executions of [" + repeated.getKey() + "]");
+    }
+
+    private static String describe(QueryScope scope) {
+        Map.Entry<String, Integer> repeated = scope.mostRepeated();
+        return scope.statements() + " statements ran"
+                + (repeated == null ? "" : ", most repeated " + repeated.getValue() + "x [" + repeated.getKey() + "]");
+    }
+}